@@ -0,0 +1,116 @@
+package com.example.API.benchmark;
+
+import com.example.API.Scheduler.Constraints;
+import com.example.API.Scheduler.LearningSchedule;
+import com.example.API.Scheduler.SessionForOptimizer;
+import com.example.API.Scheduler.SmartPlannerMain;
+import org.optaplanner.core.api.score.buildin.hardsoft.HardSoftScore;
+import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
+import org.optaplanner.core.api.score.stream.ConstraintProvider;
+import org.optaplanner.core.api.solver.SolutionManager;
+import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.config.solver.SolverConfig;
+import org.optaplanner.core.config.solver.termination.TerminationConfig;
+import org.optaplanner.core.impl.solver.DefaultSolver;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Checks the merged session conflict constraint against the separate pair constraints it replaced,
+ * and compares the score calculation speed of both constraint sets.
+ * Scores are compared per constraint on randomly planned schedules, which have many conflicts;
+ * "Session conflict" has to match the sum of the three pair constraints it replaced.
+ *
+ * Run with: mvn -Pbenchmark compile exec:java -Dbenchmark.class=ConstraintMergeBenchmark
+ */
+public class ConstraintMergeBenchmark {
+
+    // every dataset has more than 100 sessions
+    private static final List<Dataset> DATASETS = List.of(Dataset.TWO_MONTHS_MORE_MODULES, Dataset.SIX_MONTHS);
+    private static final List<String> MERGED_CONSTRAINTS =
+            List.of("Overlapping sessions", "No simultaneous sessions", "Insufficient break between sessions");
+    private static final int RANDOM_SOLUTIONS = 20;
+    private static final Duration SOLVE_DURATION = Duration.ofSeconds(15);
+
+    public static void main(String[] args) {
+        SolutionManager<LearningSchedule, HardSoftScore> pairScan = solutionManager(PairScanConstraints.class);
+        SolutionManager<LearningSchedule, HardSoftScore> merged = solutionManager(Constraints.class);
+
+        boolean allMatch = true;
+        for (Dataset dataset : DATASETS) {
+            Random random = new Random(Dataset.SEED);
+            Map<String, HardSoftScore> pairScanTotals = new TreeMap<>();
+            Map<String, HardSoftScore> mergedTotals = new TreeMap<>();
+            int mismatches = 0;
+            for (int i = 0; i < RANDOM_SOLUTIONS; i++) {
+                LearningSchedule schedule = dataset.generate();
+                for (SessionForOptimizer session : schedule.getSessionList()) {
+                    session.setSlot(schedule.getSlotRange().get(random.nextInt(schedule.getSlotRange().size())));
+                }
+                HardSoftScore pairScanScore = addTotals(pairScan, schedule, pairScanTotals);
+                HardSoftScore mergedScore = addTotals(merged, schedule, mergedTotals);
+                if (!pairScanScore.equals(mergedScore)) {
+                    mismatches++;
+                }
+            }
+            allMatch &= mismatches == 0;
+
+            System.out.println();
+            System.out.println(dataset + ": " + RANDOM_SOLUTIONS + " random solutions, " + mismatches + " score mismatches");
+            System.out.printf("%-50s %20s %20s%n", "constraint", "pair scans", "merged");
+            HardSoftScore replaced = HardSoftScore.ZERO;
+            for (Map.Entry<String, HardSoftScore> entry : pairScanTotals.entrySet()) {
+                if (MERGED_CONSTRAINTS.contains(entry.getKey())) {
+                    replaced = replaced.add(entry.getValue());
+                    System.out.printf("%-50s %20s %20s%n", entry.getKey(), entry.getValue(), "");
+                } else {
+                    System.out.printf("%-50s %20s %20s%n", entry.getKey(), entry.getValue(),
+                            mergedTotals.getOrDefault(entry.getKey(), HardSoftScore.ZERO));
+                }
+            }
+            System.out.printf("%-50s %20s %20s%n", "Session conflict (sum of the three above)", replaced,
+                    mergedTotals.getOrDefault("Session conflict", HardSoftScore.ZERO));
+        }
+
+        ResultTable table = new ResultTable("%-40s %-22s %20s %12s", "dataset", "constraints", "score", "calcs/sec");
+        for (Dataset dataset : DATASETS) {
+            solve(table, dataset, PairScanConstraints.class);
+            solve(table, dataset, Constraints.class);
+        }
+        table.print();
+        System.out.println();
+        System.out.println(allMatch ? "Scores match." : "Scores DON'T match.");
+    }
+
+    private static HardSoftScore addTotals(SolutionManager<LearningSchedule, HardSoftScore> solutionManager,
+                                           LearningSchedule schedule, Map<String, HardSoftScore> totals) {
+        var explanation = solutionManager.explain(schedule);
+        for (ConstraintMatchTotal<HardSoftScore> total : explanation.getConstraintMatchTotalMap().values()) {
+            totals.merge(total.getConstraintName(), total.getScore(), HardSoftScore::add);
+        }
+        return explanation.getScore();
+    }
+
+    private static void solve(ResultTable table, Dataset dataset, Class<? extends ConstraintProvider> constraintProviderClass) {
+        DefaultSolver<LearningSchedule> solver =
+                (DefaultSolver<LearningSchedule>) SolverFactory.<LearningSchedule>create(solverConfig(constraintProviderClass)
+                        .withTerminationConfig(new TerminationConfig().withSpentLimit(SOLVE_DURATION))).buildSolver();
+        LearningSchedule solved = solver.solve(dataset.generate());
+        table.add("%-40s %-22s %20s %12d", dataset, constraintProviderClass.getSimpleName(),
+                solved.getScore(), solver.getSolverScope().getScoreCalculationSpeed());
+    }
+
+    private static SolutionManager<LearningSchedule, HardSoftScore> solutionManager(
+            Class<? extends ConstraintProvider> constraintProviderClass) {
+        return SolutionManager.create(SolverFactory.create(solverConfig(constraintProviderClass)));
+    }
+
+    private static SolverConfig solverConfig(Class<? extends ConstraintProvider> constraintProviderClass) {
+        return SmartPlannerMain.buildSolverConfig(SmartPlannerMain.DEFAULT_PROFILE)
+                .withConstraintProviderClass(constraintProviderClass);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.API.benchmark;
+
+import com.example.API.Scheduler.LearningSchedule;
+import com.example.API.Scheduler.SyntheticScheduleGenerator;
+
+/**
+ * A synthetic student dataset of the benchmarks: the number of modules and fixed events and the planning
+ * horizon, generated with SyntheticScheduleGenerator.
+ */
+final class Dataset {
+
+    // modules, fixed events, horizon in days
+    static final Dataset TWO_WEEKS_NO_EVENTS = new Dataset(3, 0, 14);
+    static final Dataset TWO_WEEKS = new Dataset(3, 20, 14);
+    static final Dataset THREE_WEEKS = new Dataset(5, 40, 21);
+    static final Dataset TWO_MONTHS = new Dataset(10, 200, 60);
+    static final Dataset TWO_MONTHS_MORE_MODULES = new Dataset(15, 300, 60);
+    static final Dataset SIX_MONTHS_FEWER_EVENTS = new Dataset(30, 600, 180);
+    static final Dataset SIX_MONTHS = new Dataset(30, 2000, 180);
+    static final Dataset ONE_YEAR = new Dataset(60, 4000, 365);
+
+    // seed of the benchmarks that generate every dataset the same way
+    static final long SEED = 7L;
+
+    private final int modules;
+    private final int fixedEvents;
+    private final int days;
+
+    private Dataset(int modules, int fixedEvents, int days) {
+        this.modules = modules;
+        this.fixedEvents = fixedEvents;
+        this.days = days;
+    }
+
+    LearningSchedule generate() {
+        return generate(SEED);
+    }
+
+    LearningSchedule generate(long seed) {
+        return SyntheticScheduleGenerator.generate(modules, fixedEvents, days, seed);
+    }
+
+    @Override
+    public String toString() {
+        return modules + " modules / " + fixedEvents + " events / " + days + " days";
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.API.benchmark;
+
+import com.example.API.Scheduler.GreedyPlanner;
+import com.example.API.Scheduler.LearningSchedule;
+import com.example.API.Scheduler.SmartPlannerMain;
+import org.optaplanner.core.api.score.buildin.hardsoft.HardSoftScore;
+import org.optaplanner.core.api.solver.SolutionManager;
+import org.optaplanner.core.api.solver.SolverFactory;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compares quality (score) and latency of the GreedyPlanner with the full OptaPlanner solve
+ * and with the solver seeded by the greedy plan, on the same synthetic inputs.
+ *
+ * Run with: mvn -Pbenchmark compile exec:java -Dbenchmark.class=GreedyPlannerBenchmark
+ */
+public class GreedyPlannerBenchmark {
+
+    private static final List<Dataset> DATASETS = List.of(Dataset.TWO_WEEKS, Dataset.TWO_MONTHS, Dataset.SIX_MONTHS);
+    private static final int GREEDY_RUNS = 20;
+
+    public static void main(String[] args) {
+        SolverFactory<LearningSchedule> solverFactory =
+                SolverFactory.create(SmartPlannerMain.buildSolverConfig(SmartPlannerMain.DEFAULT_PROFILE));
+        SolutionManager<LearningSchedule, HardSoftScore> solutionManager = SolutionManager.create(solverFactory);
+
+        ResultTable table = new ResultTable("%-40s %-22s %9s %20s %12s", "dataset", "engine", "sessions", "score", "millis");
+        for (Dataset dataset : DATASETS) {
+            // greedy: median of several runs, the first runs warm up the JIT
+            long[] greedyNanos = new long[GREEDY_RUNS];
+            LearningSchedule greedy = null;
+            for (int i = 0; i < GREEDY_RUNS; i++) {
+                LearningSchedule schedule = dataset.generate();
+                long start = System.nanoTime();
+                greedy = GreedyPlanner.plan(schedule);
+                greedyNanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(greedyNanos);
+            HardSoftScore greedyScore = solutionManager.update(greedy);
+            addRow(table, dataset, "greedy", greedy.getSessionList().size(), greedyScore, greedyNanos[GREEDY_RUNS / 2]);
+
+            long start = System.nanoTime();
+            LearningSchedule solved = solverFactory.buildSolver().solve(dataset.generate());
+            addRow(table, dataset, "optaplanner", solved.getSessionList().size(), solved.getScore(), System.nanoTime() - start);
+
+            start = System.nanoTime();
+            LearningSchedule seeded = solverFactory.buildSolver().solve(GreedyPlanner.plan(dataset.generate()));
+            addRow(table, dataset, "greedy + optaplanner", seeded.getSessionList().size(), seeded.getScore(), System.nanoTime() - start);
+        }
+        table.print();
+    }
+
+    private static void addRow(ResultTable table, Dataset dataset, String engine, int sessions, HardSoftScore score, long nanos) {
+        table.add("%-40s %-22s %9d %20s %12.2f", dataset, engine, sessions, score, nanos / 1_000_000.0);
+    }
+}
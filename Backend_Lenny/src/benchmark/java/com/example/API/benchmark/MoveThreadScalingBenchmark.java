@@ -0,0 +1,61 @@
+package com.example.API.benchmark;
+
+import com.example.API.Scheduler.LearningSchedule;
+import com.example.API.Scheduler.SmartPlannerMain;
+import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.config.solver.SolverConfig;
+import org.optaplanner.core.config.solver.termination.TerminationConfig;
+import org.optaplanner.core.impl.solver.DefaultSolver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures how the score calculation speed scales with the move thread count on synthetic schedules
+ * of increasing size. Every schedule is solved for the same time with NONE and with 1, 2, 4, ... move
+ * threads up to the number of available processors; the speed includes the calculations of the move threads.
+ * Small schedules have cheap moves, so the handover to the move threads can outweigh the gain.
+ *
+ * Run with: mvn -Pbenchmark compile exec:java -Dbenchmark.class=MoveThreadScalingBenchmark
+ */
+public class MoveThreadScalingBenchmark {
+
+    private static final List<Dataset> DATASETS =
+            List.of(Dataset.THREE_WEEKS, Dataset.TWO_MONTHS, Dataset.SIX_MONTHS, Dataset.ONE_YEAR);
+    private static final Duration SOLVE_DURATION = Duration.ofSeconds(15);
+
+    public static void main(String[] args) {
+        List<String> moveThreadCounts = new ArrayList<>();
+        moveThreadCounts.add(SolverConfig.MOVE_THREAD_COUNT_NONE);
+        for (int threads = 1; threads <= Runtime.getRuntime().availableProcessors(); threads *= 2) {
+            moveThreadCounts.add(String.valueOf(threads));
+        }
+
+        ResultTable table = new ResultTable("%-40s %-12s %20s %12s %9s", "dataset", "move threads", "score", "calcs/sec", "speedup");
+        for (Dataset dataset : DATASETS) {
+            long singleThreadedSpeed = 0;
+            for (String moveThreadCount : moveThreadCounts) {
+                DefaultSolver<LearningSchedule> solver = solve(dataset, moveThreadCount);
+                long speed = solver.getSolverScope().getScoreCalculationSpeed();
+                if (moveThreadCount.equals(SolverConfig.MOVE_THREAD_COUNT_NONE)) {
+                    singleThreadedSpeed = speed;
+                }
+                table.add("%-40s %-12s %20s %12d %8.2fx", dataset, moveThreadCount,
+                        solver.getSolverScope().getBestScore(), speed, (double) speed / Math.max(1, singleThreadedSpeed));
+            }
+        }
+
+        table.print();
+        System.out.println(Runtime.getRuntime().availableProcessors() + " available processors");
+    }
+
+    private static DefaultSolver<LearningSchedule> solve(Dataset dataset, String moveThreadCount) {
+        SolverConfig solverConfig = SmartPlannerMain.buildSolverConfig(SmartPlannerMain.DEFAULT_PROFILE, moveThreadCount)
+                .withTerminationConfig(new TerminationConfig().withSpentLimit(SOLVE_DURATION));
+        DefaultSolver<LearningSchedule> solver =
+                (DefaultSolver<LearningSchedule>) SolverFactory.<LearningSchedule>create(solverConfig).buildSolver();
+        solver.solve(dataset.generate());
+        return solver;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.API.benchmark;
+
+import com.example.API.Scheduler.Constraints;
+import com.example.API.Scheduler.SessionForOptimizer;
+
+import org.optaplanner.core.api.score.stream.Constraint;
+import org.optaplanner.core.api.score.stream.ConstraintFactory;
+import org.optaplanner.core.api.score.stream.ConstraintProvider;
+import org.optaplanner.core.api.score.buildin.hardsoft.HardSoftScore;
+import static org.optaplanner.core.api.score.stream.Joiners.equal;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * The constraints before the session pair constraints were merged: the constraints of Constraints, but with
+ * separate pair scans for overlapping sessions, sessions at the same start and breaks between sessions instead
+ * of "Session conflict". Kept so ConstraintMergeBenchmark can check that the merged constraint gives the same scores.
+ */
+public class PairScanConstraints implements ConstraintProvider {
+
+	private static final String MERGED_CONSTRAINT = "Session conflict";
+
+	/**
+	 * Define the constraints of the planning problem.
+	 * @param factory: ConstraintFactory to create the constraints.
+	 * @return An array of constraints.
+	 */
+	@Override
+	public Constraint[] defineConstraints(ConstraintFactory factory) {
+		Stream<Constraint> unchanged = Arrays.stream(new Constraints().defineConstraints(factory))
+				.filter(constraint -> !constraint.getConstraintName().equals(MERGED_CONSTRAINT));
+		Stream<Constraint> pairScans = Stream.of(
+				noOverlappingSessions(factory),
+				encourageTimeDistribution(factory),
+				enforceBreakBetweenSessions(factory));
+		return Stream.concat(unchanged, pairScans).toArray(Constraint[]::new);
+	}
+
+	/**
+	 * No overlapping sessions constraint.
+	 * @param factory: ConstraintFactory to create the constraint.
+	 * @return A constraint that checks for overlapping sessions.
+	 */
+	private Constraint noOverlappingSessions(ConstraintFactory factory) {
+		// forEach and forEachUniquePair only pass sessions with a slot, so the primitive getters are always set
+		return factory.forEachUniquePair(SessionForOptimizer.class,
+						equal(SessionForOptimizer::getEpochDay))
+				// Check if sessions overlap
+				.filter((a, b) -> a.getStartMinute() < b.getEndMinute() && b.getStartMinute() < a.getEndMinute())
+				.penalize(HardSoftScore.ONE_HARD)
+				.asConstraint("Overlapping sessions");
+	}
+
+	/**
+	 * Creates a constraint that penalizes sessions scheduled on the same date and at the same start time.
+	 * @param factory ConstraintFactory used to create constraints.
+	 * @return A hard constraint that imposes penalties for scheduling sessions simultaneously.
+	 */
+	private Constraint encourageTimeDistribution(ConstraintFactory factory) {
+		// no sessions scheduled on the same date and at the same start time, i.e. in the same slot
+		return factory.forEachUniquePair(SessionForOptimizer.class,
+						equal(SessionForOptimizer::getSlot))
+				.penalize(HardSoftScore.ONE_HARD) // ← HART statt Soft!
+				.asConstraint("No simultaneous sessions");
+	}
+
+	/**
+	 * Creates a constraint to enforce a mandatory break period between sessions
+	 * @param factory: The ConstraintFactory used to build the constraint.
+	 * @return A hard constraint that penalizes sessions scheduled without sufficient break time between them.
+	 */
+	private Constraint enforceBreakBetweenSessions(ConstraintFactory factory) {
+		return factory.forEachUniquePair(SessionForOptimizer.class,
+						equal(SessionForOptimizer::getEpochDay))
+				.filter((sessionA, sessionB) -> {
+					// Use a default break length (you can make this configurable via problem facts)
+					int breakMinutes = 15; // Default break length
+
+					// check if sessions overlap and if the break is sufficient between them
+					int endA = sessionA.getEndMinute();
+					int startB = sessionB.getStartMinute();
+					int endB = sessionB.getEndMinute();
+					int startA = sessionA.getStartMinute();
+
+					boolean needsBreakAtoB = endA <= startB && startB < endA + breakMinutes;
+
+					boolean needsBreakBtoA = endB <= startA && startA < endB + breakMinutes;
+
+					return needsBreakAtoB || needsBreakBtoA;
+				})
+				.penalize(HardSoftScore.ONE_HARD)
+				.asConstraint("Insufficient break between sessions");
+	}
+}
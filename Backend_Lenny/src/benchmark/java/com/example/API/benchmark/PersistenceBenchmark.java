@@ -0,0 +1,182 @@
+package com.example.API.benchmark;
+
+import com.example.API.Event.CalendarImportService;
+import com.example.API.Event.Event;
+import com.example.API.Scheduler.LearningSessionWriter;
+import com.example.API.SmartStudyPlannerApplication;
+import com.example.API.users.User;
+import com.example.API.users.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the write paths of the planner against a database: saving 1,000 planned learning sessions,
+ * replanning them so every session moves, and importing an .ics calendar with 5,000 events. Every setup
+ * runs once without JDBC batching (batch size 1, one round trip per row like with IDENTITY ids) and once
+ * with the batch size of application.properties. Next to the median time, the JDBC statements Hibernate prepared
+ * are reported; without batching that's one per row, a batched statement is prepared once for all its batches.
+ *
+ * The setups are an in-memory H2 and an H2 in MariaDB compatibility mode. A real MariaDB is added with
+ * -Dbenchmark.mariadb.url=jdbc:mariadb://localhost:3306/bench (-Dbenchmark.mariadb.user, -Dbenchmark.mariadb.password);
+ * it must be an empty scratch database, the benchmark creates and drops its tables.
+ *
+ * Run with: mvn -Pbenchmark compile exec:java -Dbenchmark.class=PersistenceBenchmark
+ */
+public class PersistenceBenchmark {
+
+    private static final int PLANNED_SESSIONS = 1_000;
+    private static final int IMPORTED_EVENTS = 5_000;
+    private static final int[] BATCH_SIZES = {1, 50};
+    // the first round warms up the JIT and the connection pool, the median of the rounds is reported
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) throws Exception {
+        // name, JDBC URL, user, password, dialect
+        List<String[]> setups = new ArrayList<>();
+        setups.add(new String[]{"h2", "jdbc:h2:mem:bench", "sa", "", "org.hibernate.dialect.H2Dialect"});
+        setups.add(new String[]{"h2 (MariaDB mode)", "jdbc:h2:mem:bench-mariadb;MODE=MariaDB;DATABASE_TO_LOWER=TRUE",
+                "sa", "", "org.hibernate.dialect.H2Dialect"});
+        String mariadbUrl = System.getProperty("benchmark.mariadb.url");
+        if (mariadbUrl != null) {
+            setups.add(new String[]{"mariadb", mariadbUrl, System.getProperty("benchmark.mariadb.user", "root"),
+                    System.getProperty("benchmark.mariadb.password", ""), "org.hibernate.dialect.MariaDBDialect"});
+        }
+
+        byte[] calendar = calendar(IMPORTED_EVENTS);
+        ResultTable table = new ResultTable("%-20s %6s %-36s %12s %12s", "database", "batch", "write", "millis", "prepared");
+        for (String[] setup : setups) {
+            for (int batchSize : BATCH_SIZES) {
+                try (ConfigurableApplicationContext context = start(setup, batchSize)) {
+                    Statistics statistics = context.getBean(EntityManagerFactory.class)
+                            .unwrap(SessionFactory.class).getStatistics();
+                    LearningSessionWriter writer = context.getBean(LearningSessionWriter.class);
+                    CalendarImportService importService = context.getBean(CalendarImportService.class);
+                    UserRepository userRepository = context.getBean(UserRepository.class);
+
+                    Measurement insert = new Measurement();
+                    Measurement update = new Measurement();
+                    Measurement imported = new Measurement();
+                    for (int round = 0; round < ROUNDS; round++) {
+                        User user = userRepository.save(user(setup[0] + "-" + batchSize + "-" + round));
+                        insert.run(statistics, () -> writer.write(Map.of(user.getUserId(), sessions(user, 0))));
+                        update.run(statistics, () -> writer.write(Map.of(user.getUserId(), sessions(user, 1))));
+                        imported.run(statistics, () -> importService.importFromICS(new ByteArrayInputStream(calendar), user.getUserId()));
+                    }
+                    insert.addRow(table, setup[0], batchSize, PLANNED_SESSIONS + " planned sessions, insert");
+                    update.addRow(table, setup[0], batchSize, PLANNED_SESSIONS + " planned sessions, all moved");
+                    imported.addRow(table, setup[0], batchSize, IMPORTED_EVENTS + " imported events");
+                }
+            }
+        }
+        table.print();
+    }
+
+    // command line arguments, so they override application.properties and the benchmark never touches its database
+    private static ConfigurableApplicationContext start(String[] setup, int batchSize) {
+        return new SpringApplicationBuilder(SmartStudyPlannerApplication.class).run(
+                "--spring.datasource.url=" + setup[1],
+                "--spring.datasource.username=" + setup[2],
+                "--spring.datasource.password=" + setup[3],
+                "--spring.jpa.properties.hibernate.dialect=" + setup[4],
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.generate_statistics=true",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "--server.port=0",
+                // the planner builds its own solver factories; the autoconfigured one would find the benchmark's
+                // constraint providers next to the planner's
+                "--spring.autoconfigure.exclude=org.optaplanner.spring.boot.autoconfigure.OptaPlannerAutoConfiguration,"
+                        + "org.optaplanner.spring.boot.autoconfigure.OptaPlannerBenchmarkAutoConfiguration",
+                "--planner.warmup.enabled=false",
+                "--planner.cohort.cron=-",
+                "--planner.cohort.resume-on-startup=false",
+                "--logging.level.root=WARN");
+    }
+
+    private static User user(String name) {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@benchmark.local");
+        user.setPassword("benchmark");
+        user.setCreationDate(LocalDateTime.now());
+        return user;
+    }
+
+    // learning sessions on the days after tomorrow, shifted by an hour per replanning
+    private static List<Event> sessions(User user, int shiftHours) {
+        List<Event> sessions = new ArrayList<>();
+        for (int i = 0; i < PLANNED_SESSIONS; i++) {
+            LocalDate date = LocalDate.now().plusDays(2 + i / 4);
+            LocalTime start = LocalTime.of(8 + (i % 4) * 3 + shiftHours, 0);
+            Event event = new Event();
+            event.setTitle("Learning Session: Module " + (i % 10));
+            event.setStartDate(date);
+            event.setEndDate(date);
+            event.setStartTime(start);
+            event.setEndTime(start.plusMinutes(90));
+            event.setType("learning session");
+            event.setUser(user);
+            event.setIsFullDay(false);
+            sessions.add(event);
+        }
+        return sessions;
+    }
+
+    private static byte[] calendar(int events) {
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+        LocalDateTime first = LocalDate.now().plusDays(1).atTime(9, 0);
+        StringBuilder ics = new StringBuilder("BEGIN:VCALENDAR\r\nVERSION:2.0\r\nPRODID:-//benchmark//EN\r\n");
+        for (int i = 0; i < events; i++) {
+            LocalDateTime start = first.plusDays(i / 5).plusHours(i % 5 * 2);
+            ics.append("BEGIN:VEVENT\r\n")
+                    .append("UID:benchmark-").append(i).append("\r\n")
+                    .append("DTSTAMP:").append(format.format(first)).append("Z\r\n")
+                    .append("DTSTART:").append(format.format(start)).append("\r\n")
+                    .append("DTEND:").append(format.format(start.plusMinutes(90))).append("\r\n")
+                    .append("SUMMARY:Lecture ").append(i % 20).append("\r\n")
+                    .append("END:VEVENT\r\n");
+        }
+        return ics.append("END:VCALENDAR\r\n").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private interface Write {
+        void run() throws Exception;
+    }
+
+    // durations and JDBC statements of the rounds of one write
+    private static class Measurement {
+        private final long[] nanos = new long[ROUNDS];
+        private final long[] statements = new long[ROUNDS];
+        private int rounds;
+
+        void run(Statistics statistics, Write write) throws Exception {
+            long statementsBefore = statistics.getPrepareStatementCount();
+            long start = System.nanoTime();
+            write.run();
+            nanos[rounds] = System.nanoTime() - start;
+            statements[rounds] = statistics.getPrepareStatementCount() - statementsBefore;
+            rounds++;
+        }
+
+        void addRow(ResultTable table, String database, int batchSize, String write) {
+            long[] sorted = nanos.clone();
+            Arrays.sort(sorted);
+            table.add("%-20s %6d %-36s %12.2f %12d", database, batchSize, write,
+                    sorted[ROUNDS / 2] / 1_000_000.0, statements[ROUNDS - 1]);
+        }
+    }
+}
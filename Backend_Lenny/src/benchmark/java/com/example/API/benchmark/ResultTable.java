@@ -0,0 +1,28 @@
+package com.example.API.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The result rows of a benchmark, printed as one table once all runs are done, so they aren't mixed up
+ * with the log output of the solvers.
+ */
+final class ResultTable {
+
+    private final String header;
+    private final List<String> rows = new ArrayList<>();
+
+    ResultTable(String headerFormat, Object... columns) {
+        this.header = String.format(headerFormat, columns);
+    }
+
+    void add(String rowFormat, Object... values) {
+        rows.add(String.format(rowFormat, values));
+    }
+
+    void print() {
+        System.out.println();
+        System.out.println(header);
+        rows.forEach(System.out::println);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.API.benchmark;
+
+import com.example.API.Scheduler.Constraints;
+import com.example.API.Scheduler.LearningSchedule;
+import com.example.API.Scheduler.SmartPlannerMain;
+import org.optaplanner.core.api.score.stream.ConstraintProvider;
+import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.config.solver.SolverConfig;
+import org.optaplanner.core.config.solver.termination.TerminationConfig;
+import org.optaplanner.core.impl.solver.DefaultSolver;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Compares the score calculation speed of the current Constraints with the BaselineConstraints.
+ * Every constraint provider solves the same synthetic problems for the same time, so the number of
+ * score calculations per second is directly comparable.
+ *
+ * Run with: mvn -Pbenchmark compile exec:java -Dbenchmark.class=ScoreCalculationBenchmark
+ */
+public class ScoreCalculationBenchmark {
+
+    private static final List<Dataset> DATASETS = List.of(Dataset.TWO_MONTHS, Dataset.SIX_MONTHS);
+    private static final Duration SOLVE_DURATION = Duration.ofSeconds(15);
+
+    public static void main(String[] args) {
+        ResultTable table = new ResultTable("%-40s %-22s %20s %12s", "dataset", "constraints", "score", "calcs/sec");
+        for (Dataset dataset : DATASETS) {
+            run(table, dataset, BaselineConstraints.class);
+            run(table, dataset, Constraints.class);
+        }
+        table.print();
+    }
+
+    private static void run(ResultTable table, Dataset dataset, Class<? extends ConstraintProvider> constraintProviderClass) {
+        SolverConfig solverConfig = SmartPlannerMain.buildSolverConfig(SmartPlannerMain.DEFAULT_PROFILE)
+                .withConstraintProviderClass(constraintProviderClass)
+                .withTerminationConfig(new TerminationConfig().withSpentLimit(SOLVE_DURATION));
+        DefaultSolver<LearningSchedule> solver =
+                (DefaultSolver<LearningSchedule>) SolverFactory.<LearningSchedule>create(solverConfig).buildSolver();
+        LearningSchedule solved = solver.solve(dataset.generate());
+        long speed = solver.getSolverScope().getScoreCalculationSpeed();
+        table.add("%-40s %-22s %20s %12d", dataset, constraintProviderClass.getSimpleName(), solved.getScore(), speed);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.API.benchmark;
+
+import com.example.API.Scheduler.LearningSchedule;
+import com.example.API.Scheduler.SmartPlannerMain;
+import org.optaplanner.core.api.score.buildin.hardsoft.HardSoftScore;
+import org.optaplanner.core.api.solver.Solver;
+import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.config.solver.SolverConfig;
+import org.optaplanner.core.config.solver.termination.TerminationConfig;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Compares the default moves with the session moves (SmartPlannerMain.withSessionMoves) on synthetic
+ * schedules. Every schedule is solved for the same time with a few seeds; reported are the time until
+ * the first feasible solution, the time until the final best solution and the final best score.
+ * A time of "-" means the solve didn't get there.
+ *
+ * Run with: mvn -Pbenchmark compile exec:java -Dbenchmark.class=SessionMoveBenchmark
+ */
+public class SessionMoveBenchmark {
+
+    private static final List<Dataset> DATASETS =
+            List.of(Dataset.TWO_MONTHS, Dataset.SIX_MONTHS_FEWER_EVENTS, Dataset.SIX_MONTHS);
+    private static final long[] SEEDS = {7L, 11L, 13L};
+    private static final Duration SOLVE_DURATION = Duration.ofSeconds(15);
+
+    public static void main(String[] args) {
+        ResultTable table = new ResultTable("%-40s %5s %-14s %12s %12s %24s",
+                "dataset", "seed", "moves", "feasible ms", "best ms", "best score");
+        for (Dataset dataset : DATASETS) {
+            for (long seed : SEEDS) {
+                addRow(table, dataset, seed, "default moves", solve(solverConfig(), dataset.generate(seed)));
+                addRow(table, dataset, seed, "session moves",
+                        solve(SmartPlannerMain.withSessionMoves(solverConfig()), dataset.generate(seed)));
+            }
+        }
+        table.print();
+    }
+
+    // the default profile, solving for a fixed time
+    private static SolverConfig solverConfig() {
+        return SmartPlannerMain.buildSolverConfig(SmartPlannerMain.DEFAULT_PROFILE)
+                .withTerminationConfig(new TerminationConfig().withSpentLimit(SOLVE_DURATION));
+    }
+
+    // time to feasible, time to best and best score of one solve
+    private static Object[] solve(SolverConfig solverConfig, LearningSchedule problem) {
+        Solver<LearningSchedule> solver = SolverFactory.<LearningSchedule>create(solverConfig).buildSolver();
+        long[] timeToFeasible = {-1L};
+        long[] timeToBest = {-1L};
+        solver.addEventListener(event -> {
+            HardSoftScore score = event.getNewBestSolution().getScore();
+            if (!score.isSolutionInitialized()) {
+                return;
+            }
+            if (timeToFeasible[0] < 0 && score.isFeasible()) {
+                timeToFeasible[0] = event.getTimeMillisSpent();
+            }
+            timeToBest[0] = event.getTimeMillisSpent();
+        });
+        LearningSchedule solution = solver.solve(problem);
+        return new Object[] {timeToFeasible[0], timeToBest[0], solution.getScore()};
+    }
+
+    private static void addRow(ResultTable table, Dataset dataset, long seed, String moves, Object[] result) {
+        table.add("%-40s %5d %-14s %12s %12s %24s", dataset, seed, moves,
+                time((long) result[0]), time((long) result[1]), result[2]);
+    }
+
+    private static String time(long millis) {
+        return millis < 0 ? "-" : String.valueOf(millis);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.API.benchmark;
+
+import com.example.API.Scheduler.LearningSchedule;
+import com.example.API.Scheduler.SmartPlannerMain;
+import org.optaplanner.benchmark.api.PlannerBenchmark;
+import org.optaplanner.benchmark.api.PlannerBenchmarkFactory;
+import org.optaplanner.benchmark.config.PlannerBenchmarkConfig;
+import org.optaplanner.benchmark.config.ProblemBenchmarksConfig;
+import org.optaplanner.benchmark.config.SolverBenchmarkConfig;
+import org.optaplanner.benchmark.config.statistic.ProblemStatisticType;
+import org.optaplanner.core.config.localsearch.LocalSearchType;
+import org.optaplanner.core.config.solver.SolverConfig;
+import org.optaplanner.core.config.solver.termination.TerminationConfig;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compares solver configurations side by side with the OptaPlanner Benchmarker on synthetic
+ * student datasets from small to large. Every configuration solves every dataset for the same time.
+ * The HTML report with best score over time and score calculation speed per configuration is written
+ * to target/benchmarks/&lt;timestamp&gt;/index.html.
+ * The datasets appear as Problem_0, Problem_1, ... in the report, in the order of DATASETS.
+ *
+ * Run with: mvn -Pbenchmark compile exec:java -Dbenchmark.class=SolverBenchmark
+ */
+public class SolverBenchmark {
+
+    private static final List<Dataset> DATASETS =
+            List.of(Dataset.TWO_WEEKS_NO_EVENTS, Dataset.TWO_MONTHS, Dataset.SIX_MONTHS);
+    private static final Duration SOLVE_DURATION = Duration.ofSeconds(30);
+    private static final long WARM_UP_SECONDS = 30L;
+
+    public static void main(String[] args) {
+        PlannerBenchmarkConfig benchmarkConfig = new PlannerBenchmarkConfig()
+                .withName("Learning schedule solver configurations")
+                .withBenchmarkDirectory(new File("target/benchmarks"))
+                .withWarmUpSecondsSpentLimit(WARM_UP_SECONDS)
+                .withInheritedSolverBenchmarkConfig(new SolverBenchmarkConfig()
+                        .withProblemBenchmarksConfig(new ProblemBenchmarksConfig()
+                                .withProblemStatisticTypes(ProblemStatisticType.BEST_SCORE,
+                                        ProblemStatisticType.STEP_SCORE,
+                                        ProblemStatisticType.SCORE_CALCULATION_SPEED)))
+                .withSolverBenchmarkConfigs(
+                        solverBenchmark("Default", solverConfig()),
+                        solverBenchmark("Late acceptance",
+                                SmartPlannerMain.withLocalSearchType(solverConfig(), LocalSearchType.LATE_ACCEPTANCE)),
+                        solverBenchmark("Tabu search",
+                                SmartPlannerMain.withLocalSearchType(solverConfig(), LocalSearchType.TABU_SEARCH)),
+                        solverBenchmark("Session moves", SmartPlannerMain.withSessionMoves(solverConfig())),
+                        solverBenchmark("Partitioned", SmartPlannerMain.buildSolverConfig(SmartPlannerMain.PARTITIONED_PROFILE)
+                                .withTerminationConfig(new TerminationConfig().withSpentLimit(SOLVE_DURATION))),
+                        solverBenchmark("Move threads AUTO", solverConfig()
+                                .withMoveThreadCount(SolverConfig.MOVE_THREAD_COUNT_AUTO)));
+
+        List<LearningSchedule> problems = new ArrayList<>();
+        for (int i = 0; i < DATASETS.size(); i++) {
+            System.out.println("Problem_" + i + ": " + DATASETS.get(i));
+            problems.add(DATASETS.get(i).generate());
+        }
+
+        PlannerBenchmark benchmark = PlannerBenchmarkFactory.create(benchmarkConfig).buildPlannerBenchmark(problems);
+        File benchmarkDirectory = benchmark.benchmark();
+        // every run writes its report to a new timestamped directory, the latest one sorts last
+        File[] reportDirectories = benchmarkDirectory.listFiles(File::isDirectory);
+        Arrays.sort(reportDirectories);
+        File report = new File(reportDirectories[reportDirectories.length - 1], "index.html");
+        System.out.println("Benchmark report: " + report.getAbsolutePath());
+    }
+
+    // the default profile with the same fixed solve time for every configuration
+    private static SolverConfig solverConfig() {
+        return SmartPlannerMain.buildSolverConfig(SmartPlannerMain.DEFAULT_PROFILE)
+                .withTerminationConfig(new TerminationConfig().withSpentLimit(SOLVE_DURATION));
+    }
+
+    private static SolverBenchmarkConfig solverBenchmark(String name, SolverConfig solverConfig) {
+        return new SolverBenchmarkConfig().withName(name).withSolverConfig(solverConfig);
+    }
+}
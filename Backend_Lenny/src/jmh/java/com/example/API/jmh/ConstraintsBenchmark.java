@@ -0,0 +1,123 @@
+package com.example.API.jmh;
+
+import com.example.API.Scheduler.LearningSchedule;
+import com.example.API.Scheduler.SessionForOptimizer;
+import com.example.API.Scheduler.SmartPlannerMain;
+import com.example.API.Scheduler.SyntheticScheduleGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.optaplanner.core.api.score.buildin.hardsoft.HardSoftScore;
+import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.score.director.InnerScoreDirectorFactory;
+import org.optaplanner.core.impl.solver.DefaultSolverFactory;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the constraint lambdas of Constraints through OptaPlanner's incremental score director,
+ * the way the solver calls them: once with all constraints and once per single constraint.
+ * changeSlot is what the solver does millions of times per solve, a slot change of one session
+ * followed by an incremental score calculation; calculateFromScratch inserts every session again.
+ * The sessions start on random slots, so every constraint has matches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConstraintsBenchmark {
+
+    private static final int MOVES = 1024;
+    private static final long SEED = 7L;
+
+    @Param({SelectedConstraints.ALL,
+            "Session conflict",
+            "Late session for early deadline",
+            "Session overlaps with fixed event",
+            "No sessions at same time slot",
+            "Session outside preferred hours",
+            "Uneven distribution of sessions until deadline"})
+    public String constraint;
+
+    // modules, fixed events, horizon in days
+    @Param({"10/200/60", "30/2000/180"})
+    public String dataset;
+
+    private LearningSchedule schedule;
+    private InnerScoreDirector<LearningSchedule, HardSoftScore> scoreDirector;
+    // precomputed moves, so the benchmark doesn't measure the random generator
+    private SessionForOptimizer[] moveSessions;
+    private int[] moveSlots;
+    private int move;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // the generators log every module, which is not part of the measurement
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        SelectedConstraints.selected = constraint;
+        DefaultSolverFactory<LearningSchedule> solverFactory = (DefaultSolverFactory<LearningSchedule>) SolverFactory
+                .<LearningSchedule>create(SmartPlannerMain.buildSolverConfig(SmartPlannerMain.DEFAULT_PROFILE)
+                        .withConstraintProviderClass(SelectedConstraints.class));
+        InnerScoreDirectorFactory<LearningSchedule, HardSoftScore> scoreDirectorFactory =
+                solverFactory.getScoreDirectorFactory();
+
+        String[] sizes = dataset.split("/");
+        schedule = SyntheticScheduleGenerator.generate(Integer.parseInt(sizes[0]), Integer.parseInt(sizes[1]),
+                Integer.parseInt(sizes[2]), SEED);
+        Random random = new Random(SEED);
+        List<Integer> slotRange = schedule.getSlotRange();
+        List<SessionForOptimizer> sessions = schedule.getSessionList();
+        for (SessionForOptimizer session : sessions) {
+            session.setSlot(slotRange.get(random.nextInt(slotRange.size())));
+        }
+        moveSessions = new SessionForOptimizer[MOVES];
+        moveSlots = new int[MOVES];
+        for (int i = 0; i < MOVES; i++) {
+            moveSessions[i] = sessions.get(random.nextInt(sessions.size()));
+            moveSlots[i] = slotRange.get(random.nextInt(slotRange.size()));
+        }
+
+        scoreDirector = scoreDirectorFactory.buildScoreDirector(false, false);
+        scoreDirector.setWorkingSolution(schedule);
+        scoreDirector.calculateScore();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scoreDirector.close();
+    }
+
+    @Benchmark
+    public HardSoftScore changeSlot() {
+        int index = move++ & (MOVES - 1);
+        SessionForOptimizer session = moveSessions[index];
+        scoreDirector.beforeVariableChanged(session, "slot");
+        session.setSlot(moveSlots[index]);
+        scoreDirector.afterVariableChanged(session, "slot");
+        return scoreDirector.calculateScore();
+    }
+
+    @Benchmark
+    public HardSoftScore calculateFromScratch() {
+        scoreDirector.setWorkingSolution(schedule);
+        return scoreDirector.calculateScore();
+    }
+}
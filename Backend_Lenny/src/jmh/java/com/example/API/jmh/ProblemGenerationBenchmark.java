@@ -0,0 +1,79 @@
+package com.example.API.jmh;
+
+import com.example.API.Scheduler.SessionForOptimizer;
+import com.example.API.Scheduler.SmartPlannerMain;
+import com.example.API.Scheduler.SyntheticScheduleGenerator;
+import com.example.API.Scheduler.TaskForOptimizer;
+import com.example.API.Scheduler.TimeSlots;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the generation of a planning problem: the sessions of the tasks, the date and time ranges
+ * and the slot value range built from them. This runs for every planning request before solving.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProblemGenerationBenchmark {
+
+    // modules and horizon in days
+    @Param({"10/60", "30/180"})
+    public String dataset;
+
+    private List<TaskForOptimizer> tasks;
+    private List<LocalDate> dateRange;
+    private List<LocalTime> timeRange;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // the generators log every module and range, which is not part of the measurement
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        String[] sizes = dataset.split("/");
+        tasks = SyntheticScheduleGenerator.generate(Integer.parseInt(sizes[0]), 0, Integer.parseInt(sizes[1]), 7L)
+                .getTaskList();
+        dateRange = SmartPlannerMain.generateDateRange(tasks);
+        timeRange = SmartPlannerMain.generateTimeRange();
+    }
+
+    @Benchmark
+    public List<SessionForOptimizer> generateSessions() {
+        return SmartPlannerMain.generateSessions(tasks);
+    }
+
+    @Benchmark
+    public List<LocalTime> generateTimeRange() {
+        return SmartPlannerMain.generateTimeRange(LocalTime.of(8, 0), LocalTime.of(22, 0));
+    }
+
+    @Benchmark
+    public List<LocalDate> generateDateRange() {
+        return SmartPlannerMain.generateDateRange(tasks);
+    }
+
+    @Benchmark
+    public List<Integer> slotRange() {
+        return TimeSlots.range(dateRange, timeRange);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.API.jmh;
+
+import com.example.API.Scheduler.Constraints;
+import org.optaplanner.core.api.score.stream.Constraint;
+import org.optaplanner.core.api.score.stream.ConstraintFactory;
+import org.optaplanner.core.api.score.stream.ConstraintProvider;
+
+import java.util.Arrays;
+
+/**
+ * The Constraints of the planner, reduced to one constraint so its lambdas can be measured on their own.
+ * The constraint is selected before the SolverFactory is created, which instantiates this provider.
+ */
+public class SelectedConstraints implements ConstraintProvider {
+
+    public static final String ALL = "all";
+
+    // name of the selected constraint, or ALL
+    static volatile String selected = ALL;
+
+    @Override
+    public Constraint[] defineConstraints(ConstraintFactory constraintFactory) {
+        Constraint[] constraints = new Constraints().defineConstraints(constraintFactory);
+        if (selected.equals(ALL)) {
+            return constraints;
+        }
+        Constraint[] filtered = Arrays.stream(constraints)
+                .filter(constraint -> constraint.getConstraintName().equals(selected))
+                .toArray(Constraint[]::new);
+        if (filtered.length == 0) {
+            throw new IllegalArgumentException("Unknown constraint: " + selected);
+        }
+        return filtered;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.API.jmh;
+
+import com.example.API.Scheduler.SessionForOptimizer;
+import com.example.API.Scheduler.TaskForOptimizer;
+import com.example.API.Scheduler.TimeSlots;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time getters of SessionForOptimizer: the LocalDate/LocalTime getters, which allocate,
+ * against the primitive getters the constraints use.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionForOptimizerBenchmark {
+
+    private static final int SESSIONS = 1024;
+
+    private SessionForOptimizer[] sessions;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7L);
+        TaskForOptimizer task = new TaskForOptimizer("Module", 20, LocalDate.now().plusDays(60), 1.5, 0.25);
+        sessions = new SessionForOptimizer[SESSIONS];
+        for (int i = 0; i < SESSIONS; i++) {
+            sessions[i] = new SessionForOptimizer(task);
+            sessions[i].setSlot(TimeSlots.of(LocalDate.now().plusDays(1 + random.nextInt(60)),
+                    LocalTime.of(8 + random.nextInt(14), random.nextBoolean() ? 0 : 30)));
+        }
+    }
+
+    private SessionForOptimizer next() {
+        return sessions[index++ & (SESSIONS - 1)];
+    }
+
+    @Benchmark
+    public LocalTime getEndTime() {
+        return next().getEndTime();
+    }
+
+    @Benchmark
+    public LocalDate getDate() {
+        return next().getDate();
+    }
+
+    @Benchmark
+    public int getEndMinute() {
+        return next().getEndMinute();
+    }
+
+    @Benchmark
+    public int getEpochDay() {
+        return next().getEpochDay();
+    }
+}
@@ -17,6 +17,8 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.InputStream;
 import java.time.*;
 import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -29,12 +31,25 @@ public class CalendarImportService {
     private UserRepository userRepository;
 
     public void importFromICS(MultipartFile file, Long userId) throws Exception {
+        importFromICS(file.getInputStream(), userId);
+    }
+
+    /**
+     * Imports the events of an .ics calendar as events of a user. The events are saved together with one
+     * saveAll, so they are inserted in JDBC batches within one transaction.
+     *
+     * @param stream the .ics calendar
+     * @param userId userID of the user
+     * @return the number of imported events
+     * @throws Exception if the user doesn't exist or the calendar can't be parsed
+     */
+    public int importFromICS(InputStream stream, Long userId) throws Exception {
         Optional<User> userOpt = userRepository.findById(userId);
         //If no userID is found, don't continue because we then can't fill the table
         if (userOpt.isEmpty()) throw new Exception("User not found");
 
         User user = userOpt.get();
-        InputStream stream = file.getInputStream();
+        List<Event> events = new ArrayList<>();
 
         CalendarBuilder builder = new CalendarBuilder();
         Calendar calendar = builder.build(stream);
@@ -93,7 +108,10 @@ public class CalendarImportService {
             event.setIsFullDay(isFullDay);
             event.setUser(user);
 
-            eventRepository.save(event);
+            events.add(event);
         }
+
+        eventRepository.saveAll(events);
+        return events.size();
     }
 }
@@ -9,8 +9,12 @@ import java.time.LocalTime;
 @Table(name = "event") // event table in database
 public class Event {
 
+    // allocation size of the event ids: Hibernate takes a block of ids per sequence call, so inserts can be batched
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id //unique identifier for each event in the database
-    @GeneratedValue(strategy = GenerationType.IDENTITY) //autoincrement
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_seq")
+    @SequenceGenerator(name = "event_seq", sequenceName = "event_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     private String title;
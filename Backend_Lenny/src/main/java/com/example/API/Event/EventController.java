@@ -4,6 +4,8 @@ import com.example.API.Module.ModuleRepository;
 import com.example.API.users.User;
 import com.example.API.users.UserRepository;
 import com.example.API.Module.Module;
+import com.example.API.Scheduler.PlanCache;
+import com.example.API.Scheduler.RealTimePlanningService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -23,15 +25,21 @@ public class EventController {
     private final UserRepository userRepository;
     private final CalendarImportService calendarImportService;
     private final ModuleRepository moduleRepository;
+    private final RealTimePlanningService realTimePlanningService;
+    private final PlanCache planCache;
 
     public EventController(EventRepository eventRepository,
                            UserRepository userRepository,
                            CalendarImportService calendarImportService,
-                           ModuleRepository moduleRepository) {
+                           ModuleRepository moduleRepository,
+                           RealTimePlanningService realTimePlanningService,
+                           PlanCache planCache) {
         this.eventRepository = eventRepository;
         this.userRepository = userRepository;
         this.calendarImportService = calendarImportService;
         this.moduleRepository = moduleRepository;
+        this.realTimePlanningService = realTimePlanningService;
+        this.planCache = planCache;
     }
 
     /**
@@ -67,6 +75,9 @@ public class EventController {
 
         try {
             Event savedEvent = eventRepository.save(event);
+            realTimePlanningService.onEventSaved(savedEvent);
+            // the saved learning sessions may have changed, the next planning request saves its plan again
+            planCache.forgetSaved(savedEvent.getUser().getUserId());
             return ResponseEntity.ok(savedEvent);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -143,6 +154,10 @@ public class EventController {
 
         try {
             Event updatedEvent = eventRepository.save(existingEvent);
+            realTimePlanningService.onEventSaved(updatedEvent);
+            if (updatedEvent.getUser() != null) {
+                planCache.forgetSaved(updatedEvent.getUser().getUserId());
+            }
             return ResponseEntity.ok(updatedEvent);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -242,7 +257,9 @@ public class EventController {
                 module.setAlreadyStudied(newStudyTime);
             }
 
-            moduleRepository.save(module);
+            Module savedModule = moduleRepository.save(module);
+            // the remaining hours of the module changed, a live solver must plan fewer or more sessions
+            realTimePlanningService.onModuleSaved(savedModule);
         }
     }
 
@@ -263,6 +280,10 @@ public class EventController {
 
         try {
             eventRepository.deleteById(eventId);
+            realTimePlanningService.onEventDeleted(optionalEvent.get());
+            if (optionalEvent.get().getUser() != null) {
+                planCache.forgetSaved(optionalEvent.get().getUser().getUserId());
+            }
             return ResponseEntity.ok().body("Event deleted successfully");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
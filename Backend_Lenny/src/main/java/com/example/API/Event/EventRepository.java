@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface EventRepository extends JpaRepository<Event, Long> {
@@ -15,6 +16,12 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     // method to find all events for a specific user
     List<Event> findAllByUser(User user);
 
+    // method to find the events of a type that start after a date (used for warm-start planning)
+    List<Event> findAllByUser_UserIdAndTypeAndStartDateAfter(Long userId, String type, LocalDate startDate);
+
+    // method to find the events of a type that start after a date for many users (used to save plans as a diff)
+    List<Event> findAllByUser_UserIdInAndTypeAndStartDateAfter(Collection<Long> userIds, String type, LocalDate startDate);
+
     /**
      * USES FOR RESCHEDULING EVENTS
      * Deletes all events associated with the specified user ID, event type,
@@ -9,8 +9,12 @@ import java.time.LocalDate;
 @Table(name = "module")
 public class Module {
 
+    // allocation size of the module ids: Hibernate takes a block of ids per sequence call, so inserts can be batched
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "module_seq")
+    @SequenceGenerator(name = "module_seq", sequenceName = "module_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "name", nullable = false)
@@ -1,5 +1,6 @@
 package com.example.API.Module;
 
+import com.example.API.Scheduler.RealTimePlanningService;
 import com.example.API.users.User;
 import com.example.API.users.UserRepository;
 import org.springframework.http.HttpStatus;
@@ -16,11 +17,14 @@ public class ModuleController {
 
     private final UserRepository userRepository;
     private final ModuleRepository moduleRepository;
+    private final RealTimePlanningService realTimePlanningService;
 
     // constructor
-    public ModuleController(UserRepository userRepository, ModuleRepository moduleRepository) {
+    public ModuleController(UserRepository userRepository, ModuleRepository moduleRepository,
+                            RealTimePlanningService realTimePlanningService) {
         this.userRepository = userRepository;
         this.moduleRepository = moduleRepository;
+        this.realTimePlanningService = realTimePlanningService;
     }
 
     /**
@@ -51,6 +55,7 @@ public class ModuleController {
 
         try {
             Module savedModule = moduleRepository.save(module);
+            realTimePlanningService.onModuleSaved(savedModule);
             return ResponseEntity.ok(savedModule);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -124,7 +129,8 @@ public class ModuleController {
         }
 
         try {
-            moduleRepository.save(existingModule);
+            Module savedModule = moduleRepository.save(existingModule);
+            realTimePlanningService.onModuleSaved(savedModule);
 
 
             return ResponseEntity.ok().body("Module updated successfully");
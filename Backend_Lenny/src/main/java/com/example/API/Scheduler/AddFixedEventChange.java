@@ -0,0 +1,25 @@
+package com.example.API.Scheduler;
+
+import org.optaplanner.core.api.solver.change.ProblemChange;
+import org.optaplanner.core.api.solver.change.ProblemChangeDirector;
+
+import java.util.List;
+
+/**
+ * Problem change that adds a fixed event to a live schedule.
+ */
+public class AddFixedEventChange implements ProblemChange<LearningSchedule> {
+
+    private final FixedEvent fixedEvent;
+
+    public AddFixedEventChange(FixedEvent fixedEvent) {
+        this.fixedEvent = fixedEvent;
+    }
+
+    @Override
+    public void doChange(LearningSchedule schedule, ProblemChangeDirector problemChangeDirector) {
+        List<FixedEvent> fixedEventList = LearningSchedule.changedCopy(schedule.getFixedEventList(),
+                list -> problemChangeDirector.addProblemFact(fixedEvent, list::add));
+        BusyTimeIndex.replaceFixedEventList(schedule, fixedEventList, problemChangeDirector);
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.API.Scheduler;
+
+import org.optaplanner.core.api.domain.lookup.PlanningId;
+import org.optaplanner.core.api.solver.change.ProblemChangeDirector;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Occupancy of a user's calendar by fixed events, built once per planning problem.
+ * Every day between the first and the last fixed event has one bitmap with a bit per minute,
+ * so checking a session against all fixed events of its day is a handful of word operations
+ * instead of a join over FixedEvent objects.
+ * The index is immutable; when the fixed events change, a new index is built.
+ */
+public class BusyTimeIndex {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int WORDS_PER_DAY = (MINUTES_PER_DAY + 63) / 64;
+
+    // there is only one index per schedule; the id lets problem changes look it up in the working solution
+    @PlanningId
+    private final Long id = 0L;
+    private final long firstEpochDay;
+    private final int dayCount;
+    private final long[] words;
+
+    private BusyTimeIndex(long firstEpochDay, int dayCount) {
+        this.firstEpochDay = firstEpochDay;
+        this.dayCount = dayCount;
+        this.words = new long[dayCount * WORDS_PER_DAY];
+    }
+
+    /**
+     * Builds the index of a list of fixed events. Full-day events are expected as 00:00 - 23:59.
+     * Like the overlap check it replaces, an event only occupies [start, end) of its date.
+     *
+     * @param fixedEvents the fixed events of the user, may be null
+     * @return the index of all fixed events
+     */
+    public static BusyTimeIndex of(List<FixedEvent> fixedEvents) {
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        if (fixedEvents != null) {
+            for (FixedEvent event : fixedEvents) {
+                if (isIndexable(event)) {
+                    first = Math.min(first, event.getDate().toEpochDay());
+                    last = Math.max(last, event.getDate().toEpochDay());
+                }
+            }
+        }
+        if (first > last) {
+            return new BusyTimeIndex(0, 0);
+        }
+
+        BusyTimeIndex index = new BusyTimeIndex(first, (int) (last - first + 1));
+        for (FixedEvent event : fixedEvents) {
+            if (isIndexable(event)) {
+                index.set(event.getDate().toEpochDay(), minuteOf(event.getStartTime()), minuteOf(event.getEndTime()));
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Checks whether a session overlaps with any fixed event.
+     *
+     * @param date date of the session
+     * @param startTime start time of the session
+     * @param durationMinutes duration of the session in minutes
+     * @return true if at least one minute of the session is occupied by a fixed event
+     */
+    public boolean overlaps(LocalDate date, LocalTime startTime, int durationMinutes) {
+        if (date == null || startTime == null) {
+            return false;
+        }
+        return overlaps(date.toEpochDay(), minuteOf(startTime), durationMinutes);
+    }
+
+    /**
+     * Checks whether a session overlaps with any fixed event, without creating any objects.
+     *
+     * @param epochDay date of the session as epoch day
+     * @param startMinute start of the session in minutes after midnight
+     * @param durationMinutes duration of the session in minutes
+     * @return true if at least one minute of the session is occupied by a fixed event
+     */
+    public boolean overlaps(long epochDay, int startMinute, int durationMinutes) {
+        long day = epochDay - firstEpochDay;
+        if (durationMinutes <= 0 || day < 0 || day >= dayCount) {
+            return false;
+        }
+        // a session running past midnight is only checked until the end of its day
+        int end = Math.min(startMinute + durationMinutes, MINUTES_PER_DAY);
+        return anySet((int) day * WORDS_PER_DAY, startMinute, end);
+    }
+
+    /**
+     * Sets new fixed events on the working solution of a problem change. The index of the old fixed events
+     * is removed from the score director and the rebuilt index is added, so the overlap constraint sees it.
+     *
+     * @param schedule the working solution
+     * @param fixedEventList the new list of fixed events, already registered with the director
+     * @param problemChangeDirector director of the problem change
+     */
+    static void replaceFixedEventList(LearningSchedule schedule, List<FixedEvent> fixedEventList,
+                                      ProblemChangeDirector problemChangeDirector) {
+        problemChangeDirector.removeProblemFact(schedule.getBusyTimeIndex(), index -> {});
+        schedule.setFixedEventList(fixedEventList);
+        problemChangeDirector.addProblemFact(schedule.getBusyTimeIndex(), index -> {});
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    private void set(long epochDay, int start, int end) {
+        int offset = (int) (epochDay - firstEpochDay) * WORDS_PER_DAY;
+        for (int word = start >>> 6; word <= (end - 1) >>> 6; word++) {
+            words[offset + word] |= mask(word, start, end);
+        }
+    }
+
+    private boolean anySet(int offset, int start, int end) {
+        for (int word = start >>> 6; word <= (end - 1) >>> 6; word++) {
+            if ((words[offset + word] & mask(word, start, end)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // bits of the minutes [start, end) that fall into the given word
+    private static long mask(int word, int start, int end) {
+        int from = Math.max(start - (word << 6), 0);
+        int to = Math.min(end - (word << 6), 64);
+        long upper = to == 64 ? -1L : (1L << to) - 1;
+        return upper & (-1L << from);
+    }
+
+    private static boolean isIndexable(FixedEvent event) {
+        return event.getDate() != null && event.getStartTime() != null && event.getEndTime() != null
+                && event.getStartTime().isBefore(event.getEndTime());
+    }
+
+    private static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.API.Scheduler;
+
+import java.time.LocalDateTime;
+
+public class CohortPlanningResponse {
+    private Long runId;
+    private String status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Long lastUserId;
+    private long plannedCount;
+    private long skippedCount;
+    private long failedCount;
+    private double usersPerMinute;
+    private String errorMessage;
+
+    // constructor
+    public CohortPlanningResponse(Long runId, String status, LocalDateTime startedAt, LocalDateTime finishedAt,
+                                  Long lastUserId, long plannedCount, long skippedCount, long failedCount,
+                                  double usersPerMinute, String errorMessage) {
+        this.runId = runId;
+        this.status = status;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.lastUserId = lastUserId;
+        this.plannedCount = plannedCount;
+        this.skippedCount = skippedCount;
+        this.failedCount = failedCount;
+        this.usersPerMinute = usersPerMinute;
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * Creates the response for a replanning run.
+     *
+     * @param run the replanning run
+     * @return the response with status, progress and throughput of the run
+     */
+    public static CohortPlanningResponse of(CohortPlanningRun run) {
+        return new CohortPlanningResponse(
+                run.getId(),
+                run.getStatus().name(),
+                run.getStartedAt(),
+                run.getFinishedAt(),
+                run.getLastUserId(),
+                run.getPlannedCount(),
+                run.getSkippedCount(),
+                run.getFailedCount(),
+                run.getUsersPerMinute(),
+                run.getErrorMessage()
+        );
+    }
+
+    // Getter and Setter
+    public Long getRunId() {
+        return runId;
+    }
+
+    public void setRunId(Long runId) {
+        this.runId = runId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Long getLastUserId() {
+        return lastUserId;
+    }
+
+    public void setLastUserId(Long lastUserId) {
+        this.lastUserId = lastUserId;
+    }
+
+    public long getPlannedCount() {
+        return plannedCount;
+    }
+
+    public void setPlannedCount(long plannedCount) {
+        this.plannedCount = plannedCount;
+    }
+
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    public void setSkippedCount(long skippedCount) {
+        this.skippedCount = skippedCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(long failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public double getUsersPerMinute() {
+        return usersPerMinute;
+    }
+
+    public void setUsersPerMinute(double usersPerMinute) {
+        this.usersPerMinute = usersPerMinute;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+}
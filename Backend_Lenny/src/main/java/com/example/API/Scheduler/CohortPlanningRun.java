@@ -0,0 +1,181 @@
+package com.example.API.Scheduler;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a nightly replanning run over all users. Users are planned in the order of their ID and
+ * the run is saved after every page, so an interrupted run continues after the last saved user.
+ * The node that runs it holds a lease on the run that it renews after every page; other nodes only take
+ * a running run over once its lease has expired.
+ */
+@Entity
+@Table(name = "cohort_planning_run")
+public class CohortPlanningRun {
+
+    public enum Status {
+        RUNNING,
+        // stopped or shut down before all users were planned; the next start continues the run
+        INTERRUPTED,
+        COMPLETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status = Status.RUNNING;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    // every user up to this ID is done
+    @Column(name = "last_user_id", nullable = false)
+    private Long lastUserId = 0L;
+
+    @Column(name = "planned_count", nullable = false)
+    private long plannedCount;
+
+    // users without modules with remaining hours, or whose sessions were being replaced by a planning request
+    @Column(name = "skipped_count", nullable = false)
+    private long skippedCount;
+
+    @Column(name = "failed_count", nullable = false)
+    private long failedCount;
+
+    // time spent planning, without the time the run was interrupted
+    @Column(name = "active_millis", nullable = false)
+    private long activeMillis;
+
+    @Column(name = "error_message")
+    private String errorMessage;
+
+    // random token of the node that runs it, null if no node runs it
+    @Column(name = "owner")
+    private String owner;
+
+    @Column(name = "leased_until")
+    private LocalDateTime leasedUntil;
+
+    // the run this one follows; unique, so only one node starts the next run
+    @Column(name = "previous_run_id", unique = true)
+    private Long previousRunId;
+
+    // Default constructor
+    public CohortPlanningRun() {}
+
+    public CohortPlanningRun(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    // users per minute of active planning time
+    public double getUsersPerMinute() {
+        if (activeMillis == 0) {
+            return 0;
+        }
+        return (plannedCount + skippedCount + failedCount) * 60_000.0 / activeMillis;
+    }
+
+    // Getter & Setter
+    public Long getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Long getLastUserId() {
+        return lastUserId;
+    }
+
+    public void setLastUserId(Long lastUserId) {
+        this.lastUserId = lastUserId;
+    }
+
+    public long getPlannedCount() {
+        return plannedCount;
+    }
+
+    public void setPlannedCount(long plannedCount) {
+        this.plannedCount = plannedCount;
+    }
+
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    public void setSkippedCount(long skippedCount) {
+        this.skippedCount = skippedCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(long failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public long getActiveMillis() {
+        return activeMillis;
+    }
+
+    public void setActiveMillis(long activeMillis) {
+        this.activeMillis = activeMillis;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getLeasedUntil() {
+        return leasedUntil;
+    }
+
+    public void setLeasedUntil(LocalDateTime leasedUntil) {
+        this.leasedUntil = leasedUntil;
+    }
+
+    public Long getPreviousRunId() {
+        return previousRunId;
+    }
+
+    public void setPreviousRunId(Long previousRunId) {
+        this.previousRunId = previousRunId;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.API.Scheduler;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface CohortPlanningRunRepository extends JpaRepository<CohortPlanningRun, Long> {
+
+    // the latest run, for the progress endpoint
+    Optional<CohortPlanningRun> findFirstByOrderByIdDesc();
+
+    // the latest run that was not completed, to continue it
+    Optional<CohortPlanningRun> findFirstByStatusInOrderByIdDesc(Collection<CohortPlanningRun.Status> statuses);
+
+    // takes over an unfinished run if no node runs it or the lease of its node has expired,
+    // returns 0 if another node runs it
+    @Transactional
+    @Modifying
+    @Query("UPDATE CohortPlanningRun r SET r.status = :running, r.owner = :owner, r.leasedUntil = :leasedUntil"
+            + " WHERE r.id = :id AND r.status <> :completed AND (r.leasedUntil IS NULL OR r.leasedUntil < :now)")
+    int claim(@Param("id") Long id,
+              @Param("owner") String owner,
+              @Param("leasedUntil") LocalDateTime leasedUntil,
+              @Param("now") LocalDateTime now,
+              @Param("running") CohortPlanningRun.Status running,
+              @Param("completed") CohortPlanningRun.Status completed);
+
+    // extends the lease if the owner still runs the run, returns 0 if another node has taken it over
+    @Transactional
+    @Modifying
+    @Query("UPDATE CohortPlanningRun r SET r.leasedUntil = :leasedUntil WHERE r.id = :id AND r.owner = :owner")
+    int renew(@Param("id") Long id,
+              @Param("owner") String owner,
+              @Param("leasedUntil") LocalDateTime leasedUntil);
+}
@@ -0,0 +1,383 @@
+package com.example.API.Scheduler;
+
+import com.example.API.users.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Replans all users overnight, so plans follow moved deadlines and missed sessions without a request per user.
+ * The users are planned page by page in the order of their ID: the users of a page are solved concurrently
+ * on the PlanningExecutor, like planning requests, then the new sessions of the whole page are saved in one
+ * transaction and the progress of the run is saved. An interrupted run continues after the last saved page.
+ * The nightly schedule fires on every node, but only one node runs a run: it's claimed in the database with
+ * a lease that is renewed after every page, and taken over by another node only once the lease has expired.
+ */
+@Service
+public class CohortPlanningService {
+
+    // how long a solve waits for a free solver thread before it tries again
+    private static final Duration MAX_ADMISSION_WAIT = Duration.ofSeconds(10);
+
+    public enum StartResult {
+        STARTED,
+        RESUMED,
+        ALREADY_RUNNING
+    }
+
+    private final UserRepository userRepository;
+    private final PlannerService plannerService;
+    private final CohortPlanningRunRepository runRepository;
+    private final PlanningLocks planningLocks;
+    private final PlanningExecutor planningExecutor;
+    private final PlanningOptions options;
+    private final int maxSolves;
+    private final int pageSize;
+    private final Duration lease;
+    private final boolean resumeOnStartup;
+    private final ExecutorService runExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cohort-planning");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Counter plannedCounter;
+    private final Counter skippedCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private volatile boolean stopRequested;
+
+    /**
+     * Constructor for the CohortPlanningService.
+     * @param userRepository Repository for users. Used to page through all user IDs.
+     * @param plannerService Service used to build, solve and save the plan of each user.
+     * @param runRepository Repository for the progress of the runs.
+     * @param planningLocks Locks on the learning sessions of the users, held while a page is saved.
+     * @param planningExecutor Executor the solves run on, shared with the planning requests.
+     * @param meterRegistry Registry the planned, skipped and failed users are counted in.
+     * @param threads Number of users solved at the same time, 0 for one per solver thread of the PlanningExecutor.
+     * @param pageSize Number of users planned and saved together.
+     * @param latencyClass Solve budget of each user.
+     * @param warmStart Whether each user's plan starts from the existing sessions, so plans change as little as needed.
+     * @param lease How long a node holds a run without renewing it; has to be longer than a page takes.
+     * @param resumeOnStartup Whether a run that was interrupted by a shutdown continues at startup.
+     */
+    public CohortPlanningService(UserRepository userRepository,
+                                 PlannerService plannerService,
+                                 CohortPlanningRunRepository runRepository,
+                                 PlanningLocks planningLocks,
+                                 PlanningExecutor planningExecutor,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${planner.cohort.threads:0}") int threads,
+                                 @Value("${planner.cohort.page-size:50}") int pageSize,
+                                 @Value("${planner.cohort.latency-class:STANDARD}") PlanningOptions.LatencyClass latencyClass,
+                                 @Value("${planner.cohort.warm-start:true}") boolean warmStart,
+                                 @Value("${planner.cohort.lease:10m}") Duration lease,
+                                 @Value("${planner.cohort.resume-on-startup:true}") boolean resumeOnStartup) {
+        this.userRepository = userRepository;
+        this.plannerService = plannerService;
+        this.runRepository = runRepository;
+        this.planningLocks = planningLocks;
+        this.planningExecutor = planningExecutor;
+        this.pageSize = pageSize;
+        this.lease = lease;
+        this.resumeOnStartup = resumeOnStartup;
+
+        this.options = new PlanningOptions();
+        options.setLatencyClass(latencyClass);
+        options.setWarmStart(warmStart);
+
+        this.maxSolves = threads > 0 ? threads : planningExecutor.getThreads();
+
+        this.plannedCounter = Counter.builder("planner.cohort.users").tag("result", "planned")
+                .description("Users planned by the nightly replanning").register(meterRegistry);
+        this.skippedCounter = Counter.builder("planner.cohort.users").tag("result", "skipped")
+                .description("Users planned by the nightly replanning").register(meterRegistry);
+        this.failedCounter = Counter.builder("planner.cohort.users").tag("result", "failed")
+                .description("Users planned by the nightly replanning").register(meterRegistry);
+    }
+
+    // nightly run, disabled with the cron expression "-"
+    @Scheduled(cron = "${planner.cohort.cron:-}")
+    public void startNightly() {
+        System.out.println("Nightly replanning: " + start());
+    }
+
+    // continues a run that was interrupted by a shutdown
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRun() {
+        if (resumeOnStartup && runRepository.findFirstByStatusInOrderByIdDesc(
+                List.of(CohortPlanningRun.Status.RUNNING, CohortPlanningRun.Status.INTERRUPTED)).isPresent()) {
+            System.out.println("Resuming interrupted replanning: " + start());
+        }
+    }
+
+    /**
+     * Starts replanning all users in the background. An unfinished run is continued after its last saved
+     * user instead of starting over, unless another node is still running it.
+     *
+     * @return whether a new run was started, an unfinished one was resumed or a run is already running
+     */
+    public synchronized StartResult start() {
+        if (running) {
+            return StartResult.ALREADY_RUNNING;
+        }
+        String owner = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        Optional<CohortPlanningRun> unfinished = runRepository.findFirstByStatusInOrderByIdDesc(
+                List.of(CohortPlanningRun.Status.RUNNING, CohortPlanningRun.Status.INTERRUPTED));
+        CohortPlanningRun run;
+        if (unfinished.isPresent()) {
+            run = unfinished.get();
+            if (runRepository.claim(run.getId(), owner, now.plus(lease), now,
+                    CohortPlanningRun.Status.RUNNING, CohortPlanningRun.Status.COMPLETED) == 0) {
+                return StartResult.ALREADY_RUNNING;
+            }
+            run.setStatus(CohortPlanningRun.Status.RUNNING);
+            run.setOwner(owner);
+            run.setLeasedUntil(now.plus(lease));
+        } else {
+            run = new CohortPlanningRun(now);
+            run.setPreviousRunId(runRepository.findFirstByOrderByIdDesc().map(CohortPlanningRun::getId).orElse(0L));
+            run.setOwner(owner);
+            run.setLeasedUntil(now.plus(lease));
+            try {
+                run = runRepository.save(run);
+            } catch (DataIntegrityViolationException e) {
+                // another node started the next run first
+                return StartResult.ALREADY_RUNNING;
+            }
+        }
+
+        CohortPlanningRun claimed = run;
+        running = true;
+        stopRequested = false;
+        runExecutor.execute(() -> run(claimed));
+        return unfinished.isPresent() ? StartResult.RESUMED : StartResult.STARTED;
+    }
+
+    /**
+     * Stops the running run after its current page. The run can be continued with start.
+     *
+     * @return true if a run was running
+     */
+    public boolean stop() {
+        if (!running) {
+            return false;
+        }
+        stopRequested = true;
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    // the latest run, running or not
+    public Optional<CohortPlanningRun> getLatestRun() {
+        return runRepository.findFirstByOrderByIdDesc();
+    }
+
+    private void run(CohortPlanningRun run) {
+        System.out.println("Replanning run " + run.getId() + " started after user " + run.getLastUserId());
+        boolean held = true;
+        try {
+            while (!stopRequested) {
+                List<Long> userIds = userRepository.findUserIdsAfter(run.getLastUserId(), PageRequest.of(0, pageSize));
+                if (userIds.isEmpty()) {
+                    run.setStatus(CohortPlanningRun.Status.COMPLETED);
+                    run.setFinishedAt(LocalDateTime.now());
+                    break;
+                }
+
+                long start = System.nanoTime();
+                planPage(run, userIds);
+                run.setActiveMillis(run.getActiveMillis() + (System.nanoTime() - start) / 1_000_000);
+                run.setLastUserId(userIds.get(userIds.size() - 1));
+                held = renewLease(run);
+                if (!held) {
+                    return;
+                }
+                runRepository.save(run);
+                System.out.printf("Replanning run %d: %d planned, %d skipped, %d failed, %.1f users/min%n",
+                        run.getId(), run.getPlannedCount(), run.getSkippedCount(), run.getFailedCount(),
+                        run.getUsersPerMinute());
+            }
+            if (run.getStatus() == CohortPlanningRun.Status.RUNNING) {
+                run.setStatus(CohortPlanningRun.Status.INTERRUPTED);
+            }
+        } catch (RuntimeException e) {
+            // e.g. the database is unavailable: the run continues after the last saved page next time
+            System.out.println("Replanning run " + run.getId() + " interrupted: " + e.getMessage());
+            run.setStatus(CohortPlanningRun.Status.INTERRUPTED);
+            run.setErrorMessage(e.getMessage());
+        } finally {
+            try {
+                if (held) {
+                    release(run);
+                }
+            } finally {
+                running = false;
+            }
+        }
+        System.out.println("Replanning run " + run.getId() + " " + run.getStatus());
+    }
+
+    // the run is only saved while the node still holds it, otherwise it would overwrite the progress of the other node
+    private boolean renewLease(CohortPlanningRun run) {
+        LocalDateTime leasedUntil = LocalDateTime.now().plus(lease);
+        if (runRepository.renew(run.getId(), run.getOwner(), leasedUntil) == 0) {
+            System.out.println("Replanning run " + run.getId() + " was taken over by another node");
+            return false;
+        }
+        run.setLeasedUntil(leasedUntil);
+        return true;
+    }
+
+    // saves the final state of the run and frees it for the next start
+    private void release(CohortPlanningRun run) {
+        if (!renewLease(run)) {
+            return;
+        }
+        run.setOwner(null);
+        run.setLeasedUntil(null);
+        runRepository.save(run);
+    }
+
+    // solves the users of a page concurrently, then saves all their plans in one transaction
+    private void planPage(CohortPlanningRun run, List<Long> userIds) {
+        LocalDateTime loadedAt = LocalDateTime.now();
+        // null for users with nothing to plan
+        Map<Long, LearningSchedule> solvedByUser = new LinkedHashMap<>();
+        Map<Long, PlanningExecutor.Admission<LearningSchedule>> admissions = new LinkedHashMap<>();
+        int failed = 0;
+        for (Long userId : userIds) {
+            try {
+                LearningSchedule schedule = plannerService.buildSchedule(userId, options.isWarmStart());
+                if (schedule == null) {
+                    solvedByUser.put(userId, null);
+                } else {
+                    admissions.put(userId, admit(schedule, admissions.values()));
+                }
+            } catch (RuntimeException e) {
+                System.out.println("Replanning user " + userId + " failed: " + e);
+                failed++;
+            }
+        }
+        for (Map.Entry<Long, PlanningExecutor.Admission<LearningSchedule>> entry : admissions.entrySet()) {
+            try {
+                solvedByUser.put(entry.getKey(), entry.getValue().getResult().get());
+            } catch (ExecutionException e) {
+                System.out.println("Replanning user " + entry.getKey() + " failed: " + e.getCause());
+                failed++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while planning user " + entry.getKey(), e);
+            }
+        }
+
+        // users whose sessions a planning request is replacing, or who got a newer plan meanwhile, are left as they are
+        List<PlanningLocks.Lock> locks = new ArrayList<>(solvedByUser.size());
+        int locked = 0;
+        for (Long userId : userIds) {
+            if (!solvedByUser.containsKey(userId)) {
+                continue;
+            }
+            Optional<PlanningLocks.Lock> lock = planningLocks.tryLock(userId);
+            if (lock.isPresent() && !lock.get().hasNewerPlan(loadedAt)) {
+                locks.add(lock.get());
+                continue;
+            }
+            lock.ifPresent(PlanningLocks.Lock::close);
+            solvedByUser.remove(userId);
+            locked++;
+        }
+
+        int nothingToPlan = (int) solvedByUser.values().stream().filter(solved -> solved == null).count();
+        int skipped = locked + nothingToPlan;
+        int planned = solvedByUser.size() - nothingToPlan;
+        try {
+            plannerService.replaceLearningSessions(solvedByUser);
+            locks.forEach(lock -> lock.planSaved(loadedAt));
+        } catch (RuntimeException e) {
+            System.out.println("Saving the plans of " + solvedByUser.size() + " users failed: " + e.getMessage());
+            failed += solvedByUser.size();
+            planned = 0;
+            skipped = locked;
+        } finally {
+            locks.forEach(PlanningLocks.Lock::close);
+        }
+
+        run.setPlannedCount(run.getPlannedCount() + planned);
+        run.setSkippedCount(run.getSkippedCount() + skipped);
+        run.setFailedCount(run.getFailedCount() + failed);
+        plannedCounter.increment(planned);
+        skippedCounter.increment(skipped);
+        failedCounter.increment(failed);
+    }
+
+    // submits the solve of a user once fewer than maxSolves of the page are solving and the executor has room
+    private PlanningExecutor.Admission<LearningSchedule> admit(LearningSchedule schedule,
+                                                              Collection<PlanningExecutor.Admission<LearningSchedule>> admitted) {
+        while (true) {
+            if (runExecutor.isShutdown()) {
+                throw new IllegalStateException("Shutting down");
+            }
+            CompletableFuture<?>[] solving = admitted.stream()
+                    .map(PlanningExecutor.Admission::getResult)
+                    .filter(result -> !result.isDone())
+                    .toArray(CompletableFuture[]::new);
+            Duration wait = MAX_ADMISSION_WAIT;
+            if (solving.length < maxSolves) {
+                try {
+                    return planningExecutor.submit(() -> plannerService.solve(schedule, options),
+                            PlanningExecutor.estimateBytes(schedule));
+                } catch (PlanningRejectedException e) {
+                    // the planning requests take up the executor, they go first
+                    wait = e.getRetryAfter();
+                }
+            }
+            try {
+                if (solving.length == 0) {
+                    Thread.sleep(wait.toMillis());
+                } else {
+                    CompletableFuture.anyOf(solving).get(wait.toMillis(), TimeUnit.MILLISECONDS);
+                }
+            } catch (ExecutionException | TimeoutException e) {
+                // a failed solve is reported with its user
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the planning executor", e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopRequested = true;
+        runExecutor.shutdown();
+    }
+}
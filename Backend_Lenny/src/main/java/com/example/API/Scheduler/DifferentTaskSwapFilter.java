@@ -0,0 +1,19 @@
+package com.example.API.Scheduler;
+
+import org.optaplanner.core.api.score.director.ScoreDirector;
+import org.optaplanner.core.impl.heuristic.selector.common.decorator.SelectionFilter;
+import org.optaplanner.core.impl.heuristic.selector.move.generic.SwapMove;
+
+/**
+ * Only lets swap moves through that swap sessions of different tasks. Two sessions of the same task
+ * are interchangeable, so swapping them never changes the score and only costs a score calculation.
+ */
+public class DifferentTaskSwapFilter implements SelectionFilter<LearningSchedule, SwapMove<LearningSchedule>> {
+
+    @Override
+    public boolean accept(ScoreDirector<LearningSchedule> scoreDirector, SwapMove<LearningSchedule> move) {
+        SessionForOptimizer left = (SessionForOptimizer) move.getLeftEntity();
+        SessionForOptimizer right = (SessionForOptimizer) move.getRightEntity();
+        return left.getTask() != right.getTask();
+    }
+}
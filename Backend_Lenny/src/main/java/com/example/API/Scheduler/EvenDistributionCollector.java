@@ -0,0 +1,118 @@
+package com.example.API.Scheduler;
+
+import org.optaplanner.core.api.function.TriFunction;
+import org.optaplanner.core.api.score.stream.bi.BiConstraintCollector;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Incremental collector for the even distribution of the sessions of one task until its deadline.
+ * The container keeps the days of the sessions as a sorted int array: a moved session is removed and
+ * inserted by binary search, and the penalty is calculated in one pass over the sorted days, without
+ * streaming, sorting or allocating a list on every move.
+ */
+public class EvenDistributionCollector
+        implements BiConstraintCollector<SessionForOptimizer, PlanningStart, EvenDistributionCollector.SessionDays, Integer> {
+
+    // (int) Math.pow(deviation, 1.2) for the usual deviations, larger ones are calculated
+    private static final int[] DEVIATION_PENALTIES = new int[1024];
+
+    static {
+        for (int deviation = 0; deviation < DEVIATION_PENALTIES.length; deviation++) {
+            DEVIATION_PENALTIES[deviation] = (int) Math.pow(deviation, 1.2);
+        }
+    }
+
+    @Override
+    public Supplier<SessionDays> supplier() {
+        return SessionDays::new;
+    }
+
+    @Override
+    public TriFunction<SessionDays, SessionForOptimizer, PlanningStart, Runnable> accumulator() {
+        return (sessionDays, session, planningStart) -> {
+            int day = session.getEpochDay();
+            sessionDays.add(session.getTask(), planningStart, day);
+            return () -> sessionDays.remove(day);
+        };
+    }
+
+    @Override
+    public Function<SessionDays, Integer> finisher() {
+        return SessionDays::penalty;
+    }
+
+    /**
+     * Sorted days of the sessions of one task.
+     */
+    public static final class SessionDays {
+        private TaskForOptimizer task;
+        private PlanningStart planningStart;
+        private int[] days = new int[16];
+        private int size;
+
+        private void add(TaskForOptimizer task, PlanningStart planningStart, int day) {
+            this.task = task;
+            this.planningStart = planningStart;
+            if (size == days.length) {
+                days = Arrays.copyOf(days, size * 2);
+            }
+            int index = insertionPoint(day);
+            System.arraycopy(days, index, days, index + 1, size - index);
+            days[index] = day;
+            size++;
+        }
+
+        private void remove(int day) {
+            int index = Arrays.binarySearch(days, 0, size, day);
+            System.arraycopy(days, index + 1, days, index, size - index - 1);
+            size--;
+        }
+
+        private int insertionPoint(int day) {
+            int index = Arrays.binarySearch(days, 0, size, day);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        /**
+         * Penalty of the distribution: deviation of each session from its ideal, evenly spread day,
+         * plus a penalty for sessions that are closer together than half the ideal interval.
+         * In a partition, the sessions of the window take their places among all sessions of the task.
+         */
+        private int penalty() {
+            int sessionCount = task.getTotalSessionCount() > 0 ? task.getTotalSessionCount() : size;
+            if (sessionCount <= 1 || size == 0 || task.getDeadline() == null) {
+                return 0; // No penalty for single sessions or tasks without deadline
+            }
+            long startDay = planningStart.getEpochDay();
+            long totalDaysAvailable = task.getDeadline().toEpochDay() - startDay;
+            if (totalDaysAvailable <= 0) {
+                return 0; // No penalty if deadline is today or has passed
+            }
+
+            double idealInterval = (double) totalDaysAvailable / sessionCount;
+            int offset = task.getSessionIndexOffset();
+            // Minimum interval should be at least 1 day to avoid clustering
+            double minInterval = Math.max(1.0, idealInterval * 0.5);
+
+            int totalPenalty = 0;
+            for (int i = 0; i < size; i++) {
+                long idealDay = startDay + (long) ((offset + i + 1) * idealInterval);
+                long deviationDays = Math.abs(days[i] - idealDay);
+                totalPenalty += deviationDays < DEVIATION_PENALTIES.length
+                        ? DEVIATION_PENALTIES[(int) deviationDays]
+                        : (int) Math.pow(deviationDays, 1.2);
+
+                if (i > 0) {
+                    long daysBetween = days[i] - days[i - 1];
+                    if (daysBetween < minInterval) {
+                        totalPenalty += (int) ((minInterval - daysBetween) * 3);
+                    }
+                }
+            }
+            return totalPenalty;
+        }
+    }
+}
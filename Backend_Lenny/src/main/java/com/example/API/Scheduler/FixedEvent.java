@@ -1,9 +1,13 @@
 package com.example.API.Scheduler;
 
+import org.optaplanner.core.api.domain.lookup.PlanningId;
+
 import java.time.LocalDate;
 import java.time.LocalTime;
 
 public class FixedEvent {
+	@PlanningId // needed to look up the fixed event in problem changes
+	private Long eventId;
 	private LocalDate date;
     private LocalTime startTime;
     private LocalTime endTime;
@@ -14,8 +18,14 @@ public class FixedEvent {
         this.startTime = startTime;
         this.endTime = endTime;
     }
+    public FixedEvent(Long eventId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        this(date, startTime, endTime);
+        this.eventId = eventId;
+    }
 
     //getters, setters
+    public Long getEventId() {
+    	return eventId;		}
     public LocalDate getDate() {
     	return date;		}
     public LocalTime getStartTime() {
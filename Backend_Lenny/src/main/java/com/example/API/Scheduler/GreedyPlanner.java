@@ -0,0 +1,111 @@
+package com.example.API.Scheduler;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fast greedy planner: an earliest-deadline-first slot filler that produces a feasible LearningSchedule
+ * in milliseconds. Sessions of the task with the earliest deadline are placed first. Each session starts
+ * looking at its evenly spread target date and takes the first slot of its task's slot range that doesn't
+ * overlap another session, including the break around the sessions. The slot range already leaves out
+ * the slots after the deadline, outside the user's window and on fixed events.
+ * Sessions that are already planned (e.g. from a warm start) are kept.
+ */
+public class GreedyPlanner {
+
+    // same break length the "Session conflict" constraint uses
+    private static final int MIN_BREAK_MINUTES = 15;
+
+    /**
+     * Plans all uninitialized sessions of the schedule. The schedule is changed in place.
+     *
+     * @param schedule the planning problem with date range, time range and fixed events set
+     * @return the same schedule with every session planned
+     */
+    public static LearningSchedule plan(LearningSchedule schedule) {
+        List<LocalDate> dates = schedule.getDateRange();
+        if (dates.isEmpty() || schedule.getTimeRange().isEmpty()) {
+            return schedule;
+        }
+        int breakMinutes = Math.max(MIN_BREAK_MINUTES, schedule.getUserBreakLengthMinutes());
+
+        // planned sessions are kept per epoch day as intervals padded by the break
+        Map<Integer, List<int[]>> busy = new HashMap<>();
+        List<SessionForOptimizer> unplanned = new ArrayList<>();
+        Map<TaskForOptimizer, Integer> sessionCounts = new HashMap<>();
+        for (SessionForOptimizer session : schedule.getSessionList()) {
+            sessionCounts.merge(session.getTask(), 1, Integer::sum);
+            if (session.getSlot() != null) {
+                addSession(busy, session.getEpochDay(), session.getStartMinute(), session.getDurationMinutes(), breakMinutes);
+            } else {
+                unplanned.add(session);
+            }
+        }
+
+        // earliest deadline first, sessions of a task in their original order
+        unplanned.sort(Comparator.comparing((SessionForOptimizer s) -> s.getTask().getDeadline(),
+                        Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparingLong(SessionForOptimizer::getId));
+
+        long firstEpochDay = dates.get(0).toEpochDay();
+        Map<TaskForOptimizer, Integer> placedCounts = new HashMap<>();
+        for (SessionForOptimizer session : unplanned) {
+            TaskForOptimizer task = session.getTask();
+            int index = placedCounts.merge(task, 1, Integer::sum) - 1;
+            // the slot range of the task ends at its deadline, or later if its sessions don't fit before it
+            List<Integer> slotRange = task.getSlotRange();
+            long lastDay = TimeSlots.epochDayOf(slotRange.get(slotRange.size() - 1)) - firstEpochDay;
+            // spread the sessions of a task evenly until its deadline
+            long targetDay = firstEpochDay + (index + 1) * (lastDay + 1) / (sessionCounts.get(task) + 1);
+            int first = firstSlotIndex(slotRange, Math.toIntExact(targetDay * TimeSlots.MINUTES_PER_DAY));
+
+            if (!place(session, slotRange, first, busy, breakMinutes)) {
+                // no free slot until the deadline: the solver (or the hard constraints) have to deal with it
+                session.setSlot(slotRange.get(first));
+            }
+        }
+        return schedule;
+    }
+
+    // walk the slots from the target day to the end of the range, then from its start up to the target day
+    private static boolean place(SessionForOptimizer session, List<Integer> slotRange, int first,
+                                 Map<Integer, List<int[]>> busy, int breakMinutes) {
+        int duration = session.getDurationMinutes();
+        for (int offset = 0; offset < slotRange.size(); offset++) {
+            int slot = slotRange.get((first + offset) % slotRange.size());
+            int start = TimeSlots.minuteOf(slot);
+            if (isFree(busy.getOrDefault(TimeSlots.epochDayOf(slot), List.of()), start, start + duration)) {
+                session.setSlot(slot);
+                addSession(busy, TimeSlots.epochDayOf(slot), start, duration, breakMinutes);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // index of the first slot of the range from the target slot on, or of its last slot
+    private static int firstSlotIndex(List<Integer> slotRange, int targetSlot) {
+        int index = Collections.binarySearch(slotRange, targetSlot);
+        index = index >= 0 ? index : -index - 1;
+        return Math.min(index, slotRange.size() - 1);
+    }
+
+    private static boolean isFree(List<int[]> intervals, int start, int end) {
+        for (int[] interval : intervals) {
+            if (start < interval[1] && interval[0] < end) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void addSession(Map<Integer, List<int[]>> busy, int epochDay, int start, int duration, int breakMinutes) {
+        busy.computeIfAbsent(epochDay, d -> new ArrayList<>())
+                .add(new int[] {start - breakMinutes, start + duration + breakMinutes});
+    }
+}
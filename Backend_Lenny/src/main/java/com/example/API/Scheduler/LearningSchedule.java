@@ -1,30 +1,45 @@
 package com.example.API.Scheduler;
 
 import org.optaplanner.core.api.domain.solution.*;
-import org.optaplanner.core.api.domain.valuerange.ValueRangeProvider;
 import org.optaplanner.core.api.score.buildin.hardsoft.HardSoftScore;
 //import org.optaplanner.core.api.domain.solution.ProblemFactProperty;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 @PlanningSolution
 public class LearningSchedule {
+
+    // end of the study window if the user has no preferred end, same default as generateTimeRange
+    private static final LocalTime DEFAULT_STUDY_END = LocalTime.of(22, 0);
 	
+    @ProblemFactCollectionProperty
 	private List<TaskForOptimizer> taskList;
     @PlanningEntityCollectionProperty
     private List<SessionForOptimizer> sessionList;
-    @ValueRangeProvider(id = "dateRange")
     @ProblemFactCollectionProperty
     private List<LocalDate> dateRange;
-    @ValueRangeProvider(id = "timeRange")
     @ProblemFactCollectionProperty
     private List<LocalTime> timeRange;
+    // all slots of dateRange and timeRange, rebuilt whenever one of them is set;
+    // the solver takes the slots of a session from the slot range of its task (see updateSlotRanges)
+    private List<Integer> slotRange;
+    @ProblemFactProperty
+    private PlanningStart planningStart;
     @PlanningScore
     private HardSoftScore score;
     @ProblemFactCollectionProperty
     private List<FixedEvent> fixedEventList;
+    // derived from fixedEventList, rebuilt whenever the fixed events are set
+    @ProblemFactProperty
+    private BusyTimeIndex busyTimeIndex;
     @ProblemFactProperty
     private LocalTime userPrefStudyStart;
     @ProblemFactProperty
@@ -53,15 +68,23 @@ public class LearningSchedule {
     public List<LocalDate> getDateRange() {
         return dateRange;    }
     public void setDateRange(List<LocalDate> dateRange) {
-        this.dateRange = dateRange;    }
+        this.dateRange = dateRange;
+        updateSlotRanges();    }
     public List<LocalTime> getTimeRange() {
         return timeRange;    }
     public void setTimeRange(List<LocalTime> timeRange) {
-        this.timeRange = timeRange;    }
+        this.timeRange = timeRange;
+        updateSlotRanges();    }
+    public List<Integer> getSlotRange() {
+        return slotRange;    }
     public List<SessionForOptimizer> getSessionList() {
         return sessionList;    }
     public void setSessionList(List<SessionForOptimizer> sessionList) {
         this.sessionList = sessionList;    }
+    public PlanningStart getPlanningStart() {
+        return planningStart;    }
+    public void setPlanningStart(PlanningStart planningStart) {
+        this.planningStart = planningStart;    }
     public HardSoftScore getScore() {
         return score;    }
     public void setScore(HardSoftScore score) {
@@ -69,7 +92,11 @@ public class LearningSchedule {
     public List<FixedEvent> getFixedEventList() {
         return fixedEventList;    }
     public void setFixedEventList(List<FixedEvent> fixedEventList) {
-        this.fixedEventList = fixedEventList;    }
+        this.fixedEventList = fixedEventList;
+        this.busyTimeIndex = BusyTimeIndex.of(fixedEventList);
+        updateSlotRanges();    }
+    public BusyTimeIndex getBusyTimeIndex() {
+        return busyTimeIndex;    }
     public LocalTime getUserPrefStudyStart() {
         return userPrefStudyStart;
     }
@@ -84,6 +111,7 @@ public class LearningSchedule {
 
     public void setUserPrefStudyEnd(LocalTime userPrefStudyEnd) {
         this.userPrefStudyEnd = userPrefStudyEnd;
+        updateSlotRanges();
     }
 
     public int getUserBreakLengthMinutes() {
@@ -93,6 +121,119 @@ public class LearningSchedule {
     public void setUserBreakLengthMinutes(int userBreakLengthMinutes) {
         this.userBreakLengthMinutes = userBreakLengthMinutes;
     }
+
+    /**
+     * Rebuilds the slot ranges after the dates, times, fixed events, study window or tasks changed.
+     * Each task gets the slots of the date range up to its deadline at which a session of the task ends
+     * inside the user's window and doesn't overlap a fixed event, so the solver never evaluates sessions
+     * after the deadline, past the end of the window or on blocked time. Fully blocked days are left out,
+     * partially blocked days only keep the start times around the fixed events.
+     * The deadlines are only capped if they can be met: tasks are checked earliest deadline first against
+     * the sessions of their duration that fit one after another into the free slots of each day. If the sessions of a task and of all tasks
+     * due before it don't fit until its deadline, its dates are extended by the days they need, so late
+     * sessions are penalized softly instead of overlapping.
+     */
+    public void updateSlotRanges() {
+        this.slotRange = TimeSlots.range(dateRange, timeRange);
+        if (taskList == null) {
+            return;
+        }
+        if (dateRange == null || timeRange == null || dateRange.isEmpty() || timeRange.isEmpty()) {
+            taskList.forEach(task -> task.setSlotRange(List.of()));
+            return;
+        }
+
+        int windowEndMinute = (userPrefStudyEnd != null ? userPrefStudyEnd : DEFAULT_STUDY_END).toSecondOfDay() / 60;
+
+        List<TaskForOptimizer> tasksByDeadline = new ArrayList<>(taskList);
+        tasksByDeadline.sort(Comparator.comparing(TaskForOptimizer::getDeadline,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        // tasks with the same session duration share the available slots, each up to its own last day
+        Map<Integer, List<Integer>> availableSlotsByDuration = new HashMap<>();
+        Map<Integer, long[]> capacityByDuration = new HashMap<>();
+        long demandMinutes = 0;
+        for (TaskForOptimizer task : tasksByDeadline) {
+            int durationMinutes = (int) Math.round(task.getSessionDuration() * 60);
+            demandMinutes += (long) task.getRecommendedSessionCount() * (durationMinutes + Constraints.BREAK_MINUTES);
+            List<Integer> availableSlots = availableSlotsByDuration.computeIfAbsent(durationMinutes,
+                    duration -> availableSlots(duration, windowEndMinute));
+            int dayCount = dateRange.size();
+            if (task.getDeadline() != null) {
+                long[] capacityUntil = capacityByDuration.computeIfAbsent(durationMinutes,
+                        duration -> capacityMinutesUntil(availableSlots, duration));
+                int daysUntilDeadline = (int) Math.max(0, task.getDeadline().toEpochDay() - dateRange.get(0).toEpochDay() + 1);
+                int daysNeeded = 1;
+                while (daysNeeded < dateRange.size() && capacityUntil[daysNeeded - 1] < demandMinutes) {
+                    daysNeeded++;
+                }
+                dayCount = Math.min(dayCount, Math.max(daysUntilDeadline, daysNeeded));
+            }
+
+            int endSlot = dayCount < dateRange.size() ? TimeSlots.of(dateRange.get(dayCount), LocalTime.MIDNIGHT) : Integer.MAX_VALUE;
+            int end = Collections.binarySearch(availableSlots, endSlot);
+            List<Integer> slots = availableSlots.subList(0, end >= 0 ? end : -end - 1);
+            if (slots.isEmpty()) {
+                // no free slot until the last day, or a session longer than the window:
+                // every slot can be taken and the constraints penalize it
+                slots = TimeSlots.range(dateRange.subList(0, dayCount), timeRange);
+            }
+            task.setSlotRange(slots);
+        }
+    }
+
+    // the slots of the whole date range at which a session of the duration fits into the window and the fixed events
+    private List<Integer> availableSlots(int durationMinutes, int windowEndMinute) {
+        List<Integer> slots = new ArrayList<>();
+        for (LocalDate date : dateRange) {
+            long epochDay = date.toEpochDay();
+            for (LocalTime time : timeRange) {
+                int startMinute = time.toSecondOfDay() / 60;
+                if (startMinute + durationMinutes <= windowEndMinute
+                        && (busyTimeIndex == null || !busyTimeIndex.overlaps(epochDay, startMinute, durationMinutes))) {
+                    slots.add(TimeSlots.of(date, time));
+                }
+            }
+        }
+        return slots;
+    }
+
+    // minutes of the sessions of the duration, with their breaks, that fit one after another into the available
+    // slots, from the first date up to and including each date
+    private long[] capacityMinutesUntil(List<Integer> availableSlots, int durationMinutes) {
+        long[] capacityUntil = new long[dateRange.size()];
+        long capacity = 0;
+        int next = 0;
+        for (int day = 0; day < dateRange.size(); day++) {
+            long epochDay = dateRange.get(day).toEpochDay();
+            int nextFreeMinute = Integer.MIN_VALUE;
+            for (; next < availableSlots.size() && TimeSlots.epochDayOf(availableSlots.get(next)) <= epochDay; next++) {
+                int startMinute = TimeSlots.minuteOf(availableSlots.get(next));
+                if (TimeSlots.epochDayOf(availableSlots.get(next)) == epochDay && startMinute >= nextFreeMinute) {
+                    capacity += durationMinutes + Constraints.BREAK_MINUTES;
+                    nextFreeMinute = startMinute + durationMinutes + Constraints.BREAK_MINUTES;
+                }
+            }
+            capacityUntil[day] = capacity;
+        }
+        return capacityUntil;
+    }
+
+    /**
+     * Changes a problem fact list of the working solution in a problem change. The solution cloner copies
+     * problem fact lists by reference, so the working solution shares them with the best solution clones
+     * that were already handed out. The change is therefore made on a copy, which the caller sets on the
+     * working solution instead of the shared list.
+     *
+     * @param problemFacts a problem fact list of the working solution
+     * @param change adds or removes facts through the ProblemChangeDirector, e.g. with list::add
+     * @return the changed copy of the list
+     */
+    static <T> List<T> changedCopy(List<T> problemFacts, Consumer<List<T>> change) {
+        List<T> copy = new ArrayList<>(problemFacts);
+        change.accept(copy);
+        return copy;
+    }
+
     /*public ConstraintsConfiguration getConstraintConfiguration() {
         return constraintConfiguration;    }
     public void setConstraintConfiguration(ConstraintsConfiguration constraintConfiguration) {
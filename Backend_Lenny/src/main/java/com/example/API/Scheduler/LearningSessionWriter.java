@@ -0,0 +1,192 @@
+package com.example.API.Scheduler;
+
+import com.example.API.Event.Event;
+import com.example.API.Event.EventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Saves planned learning sessions as the difference to the users' future learning sessions in the database,
+ * instead of deleting all of them and inserting the new plan. A planned session that is already saved at the
+ * same time stays untouched, a moved session updates an existing row in place, and only the sessions the new
+ * plan has more or fewer than the old one are inserted or deleted. All rows are written in one transaction.
+ */
+@Component
+public class LearningSessionWriter {
+
+    private static final String LEARNING_SESSION = "learning session";
+
+    private final EventRepository eventRepository;
+    private final Counter insertedCounter;
+    private final Counter updatedCounter;
+    private final Counter deletedCounter;
+    private final Counter unchangedCounter;
+
+    /**
+     * Constructor for the LearningSessionWriter.
+     * @param eventRepository Repository for events. Used to load, update, insert and delete the learning sessions.
+     * @param meterRegistry Registry the inserted, updated, deleted and unchanged learning sessions are counted in.
+     */
+    public LearningSessionWriter(EventRepository eventRepository, MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.insertedCounter = Counter.builder("planner.sessions.written").tag("operation", "insert")
+                .description("Learning session rows written when saving plans").register(meterRegistry);
+        this.updatedCounter = Counter.builder("planner.sessions.written").tag("operation", "update")
+                .description("Learning session rows written when saving plans").register(meterRegistry);
+        this.deletedCounter = Counter.builder("planner.sessions.written").tag("operation", "delete")
+                .description("Learning session rows written when saving plans").register(meterRegistry);
+        this.unchangedCounter = Counter.builder("planner.sessions.unchanged")
+                .description("Planned learning sessions that were already saved").register(meterRegistry);
+    }
+
+    /**
+     * Replaces the future learning sessions of users with planned ones, writing only the rows that differ.
+     *
+     * @param plannedByUser the planned learning session events of each user ID; an empty list deletes the
+     *                      user's future learning sessions
+     * @return the number of inserted, updated, deleted and unchanged rows
+     */
+    @Transactional
+    public Writes write(Map<Long, List<Event>> plannedByUser) {
+        Writes writes = new Writes();
+        if (plannedByUser.isEmpty()) {
+            return writes;
+        }
+        Map<Long, List<Event>> savedByUser = eventRepository
+                .findAllByUser_UserIdInAndTypeAndStartDateAfter(plannedByUser.keySet(), LEARNING_SESSION, LocalDate.now())
+                .stream()
+                .collect(Collectors.groupingBy(e -> e.getUser().getUserId()));
+
+        List<Event> inserts = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+        for (Map.Entry<Long, List<Event>> entry : plannedByUser.entrySet()) {
+            diff(entry.getValue(), savedByUser.getOrDefault(entry.getKey(), List.of()), writes, inserts, deletes);
+        }
+
+        // the updated rows are flushed by dirty checking at the end of the transaction
+        eventRepository.saveAll(inserts);
+        if (!deletes.isEmpty()) {
+            eventRepository.deleteAllByIdInBatch(deletes);
+        }
+        writes.inserted = inserts.size();
+        writes.deleted = deletes.size();
+
+        insertedCounter.increment(writes.inserted);
+        updatedCounter.increment(writes.updated);
+        deletedCounter.increment(writes.deleted);
+        unchangedCounter.increment(writes.unchanged);
+        return writes;
+    }
+
+    // matches the planned sessions of one user to the saved ones: the same time first, then the same module
+    static void diff(List<Event> planned, List<Event> saved, Writes writes, List<Event> inserts, List<Long> deletes) {
+        Map<String, Deque<Event>> savedByTime = new HashMap<>();
+        for (Event event : saved) {
+            savedByTime.computeIfAbsent(timeKey(event), key -> new ArrayDeque<>()).add(event);
+        }
+        List<Event> moved = new ArrayList<>();
+        for (Event event : planned) {
+            Deque<Event> same = savedByTime.get(timeKey(event));
+            if (same != null && !same.isEmpty()) {
+                same.poll();
+                writes.unchanged++;
+            } else {
+                moved.add(event);
+            }
+        }
+
+        // saved sessions that are no longer in the plan, by module; they are reused for the moved sessions
+        Map<String, Deque<Event>> freeByTitle = new HashMap<>();
+        savedByTime.values().forEach(free -> free.forEach(event ->
+                freeByTitle.computeIfAbsent(event.getTitle(), title -> new ArrayDeque<>()).add(event)));
+        Iterator<Event> iterator = moved.iterator();
+        while (iterator.hasNext()) {
+            Event event = iterator.next();
+            Deque<Event> free = freeByTitle.get(event.getTitle());
+            if (free != null && !free.isEmpty()) {
+                copy(event, free.poll());
+                writes.updated++;
+                iterator.remove();
+            }
+        }
+        Iterator<Event> free = freeByTitle.values().stream().flatMap(Deque::stream).iterator();
+        for (Event event : moved) {
+            if (free.hasNext()) {
+                copy(event, free.next());
+                writes.updated++;
+            } else {
+                inserts.add(event);
+            }
+        }
+        free.forEachRemaining(event -> deletes.add(event.getId()));
+    }
+
+    // a saved session only stays untouched if it's exactly what the plan would insert
+    private static String timeKey(Event event) {
+        boolean asPlanned = Objects.equals(event.getEndDate(), event.getStartDate())
+                && !event.getIsFullDay() && event.getSessionUsed() == null;
+        return event.getTitle() + "|" + event.getStartDate() + "|" + event.getStartTime() + "|" + event.getEndTime()
+                + (asPlanned ? "" : "|" + event.getId());
+    }
+
+    private static void copy(Event planned, Event saved) {
+        saved.setTitle(planned.getTitle());
+        saved.setStartDate(planned.getStartDate());
+        saved.setEndDate(planned.getEndDate());
+        saved.setStartTime(planned.getStartTime());
+        saved.setEndTime(planned.getEndTime());
+        saved.setIsFullDay(planned.getIsFullDay());
+        saved.setSessionUsed(planned.getSessionUsed());
+    }
+
+    /**
+     * The rows written to save a plan.
+     */
+    public static class Writes {
+
+        private int inserted;
+        private int updated;
+        private int deleted;
+        private int unchanged;
+
+        public int getInserted() {
+            return inserted;
+        }
+
+        public int getUpdated() {
+            return updated;
+        }
+
+        public int getDeleted() {
+            return deleted;
+        }
+
+        public int getUnchanged() {
+            return unchanged;
+        }
+
+        // rows written to the database
+        public int getWritten() {
+            return inserted + updated + deleted;
+        }
+
+        @Override
+        public String toString() {
+            return getWritten() + " rows written (" + inserted + " inserted, " + updated + " updated, "
+                    + deleted + " deleted, " + unchanged + " unchanged)";
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.API.Scheduler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.optaplanner.core.config.solver.SolverConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picks the move thread count of a solve from the number of solves that are running.
+ * A single large solve gets the configured move threads and uses the cores of the node; once more
+ * solves are active than the threshold, every solve runs single-threaded, because the parallel
+ * solves already keep the cores busy and move threads would only add synchronization overhead.
+ * Queued solves wait in the PlanningExecutor and only count once they start.
+ * Real-time solvers always run single-threaded: they live as long as the user's session and would
+ * hold on to their move threads.
+ */
+@Component
+public class MoveThreadPolicy {
+
+    private final String moveThreadCount;
+    private final int maxActiveSolves;
+    private final AtomicInteger activeSolves = new AtomicInteger();
+
+    /**
+     * Constructor for the MoveThreadPolicy.
+     * @param moveThreadCount Move thread count of a multithreaded solve ("NONE", "AUTO" or a number).
+     *                        NONE turns multithreaded solving off.
+     * @param maxActiveSolves Up to this many running solves, a new solve is multithreaded.
+     * @param meterRegistry Registry the number of active solves is reported to.
+     */
+    public MoveThreadPolicy(@Value("${planner.solver.move-thread-count:NONE}") String moveThreadCount,
+                            @Value("${planner.solver.move-threads-max-active-solves:1}") int maxActiveSolves,
+                            MeterRegistry meterRegistry) {
+        if (!moveThreadCount.equals(SolverConfig.MOVE_THREAD_COUNT_NONE)
+                && !moveThreadCount.equals(SolverConfig.MOVE_THREAD_COUNT_AUTO)
+                && !moveThreadCount.matches("[1-9][0-9]*")) {
+            throw new IllegalArgumentException("Invalid planner.solver.move-thread-count: " + moveThreadCount);
+        }
+        this.moveThreadCount = moveThreadCount;
+        this.maxActiveSolves = maxActiveSolves;
+        Gauge.builder("planner.solver.active", activeSolves, AtomicInteger::get)
+                .description("Planning solves that are running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers a new solve and returns its move thread count. Every acquire has to be followed
+     * by a release of the same profile once the solve is finished.
+     *
+     * @param profile name of the solver profile of the solve
+     * @return "NONE" or the configured move thread count
+     */
+    public String acquire(String profile) {
+        if (profile.equals(SmartPlannerMain.REALTIME_PROFILE)) {
+            return SolverConfig.MOVE_THREAD_COUNT_NONE;
+        }
+        int active = activeSolves.incrementAndGet();
+        return active <= maxActiveSolves ? moveThreadCount : SolverConfig.MOVE_THREAD_COUNT_NONE;
+    }
+
+    /**
+     * Returns the move thread counts a solve of a profile can get from acquire.
+     *
+     * @param profile name of the solver profile
+     * @return "NONE", and the configured move thread count if a solve of the profile can be multithreaded
+     */
+    public List<String> moveThreadCounts(String profile) {
+        if (profile.equals(SmartPlannerMain.REALTIME_PROFILE) || moveThreadCount.equals(SolverConfig.MOVE_THREAD_COUNT_NONE)) {
+            return List.of(SolverConfig.MOVE_THREAD_COUNT_NONE);
+        }
+        return List.of(SolverConfig.MOVE_THREAD_COUNT_NONE, moveThreadCount);
+    }
+
+    /**
+     * Unregisters a finished solve.
+     *
+     * @param profile name of the solver profile of the solve
+     */
+    public void release(String profile) {
+        if (!profile.equals(SmartPlannerMain.REALTIME_PROFILE)) {
+            activeSolves.decrementAndGet();
+        }
+    }
+}
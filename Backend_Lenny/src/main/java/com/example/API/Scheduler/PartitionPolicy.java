@@ -0,0 +1,61 @@
+package com.example.API.Scheduler;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Switches a solve to the partitioned profile once its planning horizon or its number of sessions passes
+ * a threshold. On a long horizon the construction heuristic alone takes seconds and the local search has
+ * to find improvements among thousands of slots per session; the partitioned profile starts from the plan
+ * of the GreedyPlanner and improves time windows in parallel before it polishes the whole plan.
+ * The partitions only run in parallel with enough processors: OptaPlanner runs up to two less partitions
+ * at a time than there are processors, and partitions that take turns on a single processor end up worse
+ * than one local search over the whole plan. Real-time solves are never partitioned: they keep their solver
+ * alive for problem changes.
+ */
+@Component
+public class PartitionPolicy {
+
+    private final int minHorizonDays;
+    private final int minSessions;
+    private final boolean enoughProcessors;
+
+    /**
+     * Constructor for the PartitionPolicy.
+     * @param minHorizonDays Solves with at least this many days in their date range are partitioned, 0 turns it off.
+     * @param minSessions Solves with at least this many sessions are partitioned, 0 turns it off.
+     * @param minProcessors Partitioning is turned off on nodes with less available processors.
+     */
+    public PartitionPolicy(@Value("${planner.solver.partition.min-horizon-days:0}") int minHorizonDays,
+                           @Value("${planner.solver.partition.min-sessions:0}") int minSessions,
+                           @Value("${planner.solver.partition.min-processors:4}") int minProcessors) {
+        this.minHorizonDays = minHorizonDays;
+        this.minSessions = minSessions;
+        int processors = Runtime.getRuntime().availableProcessors();
+        this.enoughProcessors = processors >= minProcessors;
+        if (!enoughProcessors && (minHorizonDays > 0 || minSessions > 0)) {
+            System.out.println("Partitioned solving is off: " + processors + " of " + minProcessors + " processors available");
+        }
+    }
+
+    /**
+     * Returns the solver profile a schedule is solved with.
+     *
+     * @param profile the solver profile of the planning request
+     * @param schedule the planning problem
+     * @return the partitioned profile if the schedule passes a threshold, otherwise the given profile
+     */
+    public String profileFor(String profile, LearningSchedule schedule) {
+        if (!enoughProcessors
+                || (!profile.equals(SmartPlannerMain.DEFAULT_PROFILE) && !profile.equals(SmartPlannerMain.WARM_START_PROFILE))) {
+            return profile;
+        }
+        int horizonDays = schedule.getDateRange() != null ? schedule.getDateRange().size() : 0;
+        int sessions = schedule.getSessionList().size();
+        if ((minHorizonDays > 0 && horizonDays >= minHorizonDays) || (minSessions > 0 && sessions >= minSessions)) {
+            System.out.println("Partitioned solving: " + horizonDays + " days, " + sessions + " sessions");
+            return SmartPlannerMain.PARTITIONED_PROFILE;
+        }
+        return profile;
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.API.Scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.optaplanner.core.api.score.buildin.hardsoft.HardSoftScore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches solved plans under the PlanFingerprint of their planning problem, so a reschedule without any change
+ * doesn't solve again. The least recently used plans are evicted once the cache is full, and plans older than
+ * the time to live are dropped. For each user the cache also knows the fingerprint of the plan that is
+ * currently saved; it's forgotten as soon as the learning sessions of the user are replaced or edited.
+ */
+@Component
+public class PlanCache {
+
+    /**
+     * A solved plan: the slots of the sessions of each module, in the order of the sessions, and the score.
+     */
+    public static final class CachedPlan {
+        private final Map<Long, List<Integer>> slotsByModule;
+        private final HardSoftScore score;
+        private final Instant cachedAt;
+
+        private CachedPlan(Map<Long, List<Integer>> slotsByModule, HardSoftScore score, Instant cachedAt) {
+            this.slotsByModule = slotsByModule;
+            this.score = score;
+            this.cachedAt = cachedAt;
+        }
+
+        /**
+         * Sets the sessions of a schedule with the same fingerprint to the slots of the cached plan.
+         *
+         * @param schedule the planning problem the plan was cached for
+         * @return the same schedule, planned and with the score of the cached plan
+         */
+        public LearningSchedule applyTo(LearningSchedule schedule) {
+            Map<Long, Integer> nextIndex = new HashMap<>();
+            for (SessionForOptimizer session : schedule.getSessionList()) {
+                Long moduleId = session.getTask().getModuleId();
+                session.setSlot(slotsByModule.get(moduleId).get(nextIndex.merge(moduleId, 1, Integer::sum) - 1));
+            }
+            schedule.setScore(score);
+            return schedule;
+        }
+
+        public HardSoftScore getScore() {
+            return score;
+        }
+    }
+
+    private final int maxSize;
+    private final Duration timeToLive;
+    // access order, so the first entry is the least recently used plan
+    private final LinkedHashMap<String, CachedPlan> plans = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, String> savedFingerprints = new ConcurrentHashMap<>();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    /**
+     * Constructor for the PlanCache.
+     * @param maxSize Maximum number of cached plans, 0 turns the cache off.
+     * @param timeToLive How long a cached plan is reused.
+     * @param meterRegistry Registry the hits, misses and the size of the cache are reported to.
+     */
+    public PlanCache(@Value("${planner.plan-cache.max-size:1000}") int maxSize,
+                     @Value("${planner.plan-cache.time-to-live:24h}") Duration timeToLive,
+                     MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.timeToLive = timeToLive;
+        this.hitCounter = Counter.builder("planner.plan.cache").tag("result", "hit")
+                .description("Planning requests answered from the plan cache or not").register(meterRegistry);
+        this.missCounter = Counter.builder("planner.plan.cache").tag("result", "miss")
+                .description("Planning requests answered from the plan cache or not").register(meterRegistry);
+        Gauge.builder("planner.plan.cache.size", this, PlanCache::size)
+                .description("Plans in the plan cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Looks up the plan of a fingerprint and counts the hit or miss.
+     *
+     * @param fingerprint fingerprint of the planning problem
+     * @return the cached plan, or empty if there is none or it has expired
+     */
+    public synchronized Optional<CachedPlan> get(String fingerprint) {
+        CachedPlan plan = plans.get(fingerprint);
+        if (plan != null && plan.cachedAt.plus(timeToLive).isBefore(Instant.now())) {
+            plans.remove(fingerprint);
+            plan = null;
+        }
+        (plan != null ? hitCounter : missCounter).increment();
+        return Optional.ofNullable(plan);
+    }
+
+    /**
+     * Caches a solved plan. Plans without a slot for every session are not cached.
+     *
+     * @param fingerprint fingerprint of the planning problem
+     * @param solved the solved schedule
+     */
+    public synchronized void put(String fingerprint, LearningSchedule solved) {
+        if (maxSize <= 0 || solved.getScore() == null || !solved.getScore().isSolutionInitialized()) {
+            return;
+        }
+        Map<Long, List<Integer>> slotsByModule = new HashMap<>();
+        for (SessionForOptimizer session : solved.getSessionList()) {
+            slotsByModule.computeIfAbsent(session.getTask().getModuleId(), moduleId -> new ArrayList<>())
+                    .add(session.getSlot());
+        }
+        plans.put(fingerprint, new CachedPlan(slotsByModule, solved.getScore(), Instant.now()));
+        while (plans.size() > maxSize) {
+            plans.remove(plans.keySet().iterator().next());
+        }
+    }
+
+    // whether the plan of the fingerprint is the one saved for the user
+    public boolean isSaved(Long userId, String fingerprint) {
+        return fingerprint.equals(savedFingerprints.get(userId));
+    }
+
+    // the plan of the fingerprint has just been saved for the user
+    public void markSaved(Long userId, String fingerprint) {
+        savedFingerprints.put(userId, fingerprint);
+    }
+
+    // the learning sessions of the user have been replaced or edited
+    public void forgetSaved(Long userId) {
+        savedFingerprints.remove(userId);
+    }
+
+    public synchronized int size() {
+        return plans.size();
+    }
+}
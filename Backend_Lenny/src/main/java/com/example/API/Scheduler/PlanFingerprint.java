@@ -0,0 +1,70 @@
+package com.example.API.Scheduler;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Stable hash over everything a plan depends on: the remaining hours, deadlines and session lengths of the
+ * modules, the fixed events inside the horizon, the user's study window and break, the planning start and
+ * the engine and latency class of the request. Two planning requests with the same fingerprint get the same
+ * planning problem, so the plan of the first can be reused for the second.
+ * The modules and fixed events are sorted first, so the order the repositories return them in doesn't matter.
+ * The sessions of the last plan are not part of it: a warm start only changes where the solver starts.
+ */
+public class PlanFingerprint {
+
+    /**
+     * Calculates the fingerprint of a planning problem.
+     *
+     * @param schedule the planning problem, as built by PlannerService.buildSchedule
+     * @param options options of the planning request
+     * @return the fingerprint as hex string
+     */
+    public static String of(LearningSchedule schedule, PlanningOptions options) {
+        StringBuilder input = new StringBuilder();
+        input.append("start=").append(schedule.getPlanningStart().getDate())
+                .append(";window=").append(schedule.getUserPrefStudyStart()).append('-').append(schedule.getUserPrefStudyEnd())
+                .append(";break=").append(schedule.getUserBreakLengthMinutes())
+                .append(";engine=").append(options.getEngine())
+                .append(";latencyClass=").append(options.getLatencyClass());
+
+        List<TaskForOptimizer> tasks = schedule.getTaskList().stream()
+                .sorted(Comparator.comparing(TaskForOptimizer::getModuleId, Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(TaskForOptimizer::getName, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .toList();
+        for (TaskForOptimizer task : tasks) {
+            input.append(";task=").append(task.getModuleId()).append(',').append(task.getName())
+                    .append(',').append(task.getHoursRequired()).append(',').append(task.getDeadline())
+                    .append(',').append(task.getSessionDuration());
+        }
+
+        // fixed events outside the horizon can't change the plan
+        List<LocalDate> dateRange = schedule.getDateRange();
+        LocalDate firstDate = dateRange.isEmpty() ? null : dateRange.get(0);
+        LocalDate lastDate = dateRange.isEmpty() ? null : dateRange.get(dateRange.size() - 1);
+        List<FixedEvent> fixedEvents = schedule.getFixedEventList().stream()
+                .filter(event -> event.getDate() != null && firstDate != null
+                        && !event.getDate().isBefore(firstDate) && !event.getDate().isAfter(lastDate))
+                .sorted(Comparator.comparing(FixedEvent::getDate)
+                        .thenComparing(FixedEvent::getStartTime, Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(FixedEvent::getEndTime, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .toList();
+        for (FixedEvent event : fixedEvents) {
+            input.append(";event=").append(event.getDate()).append(',').append(event.getStartTime())
+                    .append(',').append(event.getEndTime());
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(input.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform has SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
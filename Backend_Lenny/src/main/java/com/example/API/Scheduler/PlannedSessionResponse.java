@@ -0,0 +1,70 @@
+package com.example.API.Scheduler;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public class PlannedSessionResponse {
+    // ID of the session within its solve, so streamed updates of a job can name the sessions that moved
+    private Long sessionId;
+    private String moduleName;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+
+    // constructor
+    public PlannedSessionResponse(Long sessionId, String moduleName, LocalDate date, LocalTime startTime,
+                                  LocalTime endTime) {
+        this.sessionId = sessionId;
+        this.moduleName = moduleName;
+        this.date = date;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    // creates the response for a planned session of the optimizer
+    public static PlannedSessionResponse of(SessionForOptimizer session) {
+        return new PlannedSessionResponse(session.getId(), session.getTask().getName(), session.getDate(),
+                session.getStartTime(), session.getEndTime());
+    }
+
+    // Getter and Setter
+    public Long getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(Long sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public String getModuleName() {
+        return moduleName;
+    }
+
+    public void setModuleName(String moduleName) {
+        this.moduleName = moduleName;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
+}
@@ -2,15 +2,26 @@ package com.example.API.Scheduler;
 
 import com.example.API.Event.Event;
 import com.example.API.Event.EventRepository;
+import com.example.API.Module.Module;
 import com.example.API.Module.ModuleRepository;
 import com.example.API.users.User;
 import com.example.API.users.UserRepository;
 import org.optaplanner.core.api.solver.Solver;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class PlannerService {
@@ -18,19 +29,55 @@ public class PlannerService {
     private final ModuleRepository moduleRepository;
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
+    private final SolverFactoryRegistry solverFactoryRegistry;
+    private final MoveThreadPolicy moveThreadPolicy;
+    private final PlateauWatchdog plateauWatchdog;
+    private final PartitionPolicy partitionPolicy;
+    private final PlanCache planCache;
+    private final PlanningFlights planningFlights;
+    private final PlanningLocks planningLocks;
+    private final PlanningExecutor planningExecutor;
+    private final LearningSessionWriter learningSessionWriter;
 
     /**
      * Constructor for the PlannerService.
      * @param moduleRepository Repository for modules. Used to load modules as tasks.
      * @param userRepository Repository for users. Used to load the user's preferences.
      * @param eventRepository Repository for events. Used to load the user's fixed events.
+     * @param solverFactoryRegistry Registry with the shared SolverFactory of each solver profile.
+     * @param moveThreadPolicy Policy that picks the move thread count of a solve.
+     * @param plateauWatchdog Watchdog that stops solves with a latency class once their score has plateaued.
+     * @param partitionPolicy Policy that switches solves with a long horizon or many sessions to partitioned solving.
+     * @param planCache Cache of solved plans by the fingerprint of their planning problem.
+     * @param planningFlights Registry that coalesces concurrent planning requests of the same user.
+     * @param planningLocks Locks that keep replacing a user's learning sessions exclusive across nodes.
+     * @param planningExecutor Executor with a bounded queue that the solves of planning requests run on.
+     * @param learningSessionWriter Writer that saves planned learning sessions as the difference to the saved ones.
      */
     public PlannerService(ModuleRepository moduleRepository,
                           UserRepository userRepository,
-                          EventRepository eventRepository) {
+                          EventRepository eventRepository,
+                          SolverFactoryRegistry solverFactoryRegistry,
+                          MoveThreadPolicy moveThreadPolicy,
+                          PlateauWatchdog plateauWatchdog,
+                          PartitionPolicy partitionPolicy,
+                          PlanCache planCache,
+                          PlanningFlights planningFlights,
+                          PlanningLocks planningLocks,
+                          PlanningExecutor planningExecutor,
+                          LearningSessionWriter learningSessionWriter) {
         this.moduleRepository = moduleRepository;
         this.userRepository = userRepository;
         this.eventRepository = eventRepository;
+        this.solverFactoryRegistry = solverFactoryRegistry;
+        this.moveThreadPolicy = moveThreadPolicy;
+        this.plateauWatchdog = plateauWatchdog;
+        this.partitionPolicy = partitionPolicy;
+        this.planCache = planCache;
+        this.planningFlights = planningFlights;
+        this.planningLocks = planningLocks;
+        this.planningExecutor = planningExecutor;
+        this.learningSessionWriter = learningSessionWriter;
     }
 
     /**
@@ -38,39 +85,222 @@ public class PlannerService {
      * and fixed events. The method retrieves the user's modules, calculates the remaining
      * hours required for each module, and considers fixed events to generate an optimized learning
      * schedule. The schedule respects the user's preferred study times, session lengths, and break lengths.
-     * Once the schedule is optimized, it is saved as events for the user.
+     * Once the schedule is optimized, the user's future learning sessions are replaced by the new ones.
+     * If nothing the plan depends on has changed since an earlier request, the cached plan is used without solving.
+     * A request that arrives while the user is already being planned with the same inputs waits for that plan;
+     * with changed inputs it supersedes the running planning, whose callers then get the newer plan.
+     * The solve runs on the PlanningExecutor and waits there for a solver thread.
      *
      * @param userId userID of the user
+     * @param options options of the planning request (engine, warm start, greedy seed, latency class)
+     * @return the score of the plan and the time the solve took
+     * @throws PlanningRejectedException if the PlanningExecutor has no room for the solve
      */
-    public void planForUser(Long userId) {
+    public PlanningResponse planForUser(Long userId, PlanningOptions options) {
+        String latencyClass = options.getLatencyClass() != null ? options.getLatencyClass().name() : null;
+        LocalDateTime loadedAt = LocalDateTime.now();
+        LearningSchedule schedule = buildSchedule(userId, options.isWarmStart());
+        // a user with nothing to plan has no fingerprint
+        String fingerprint = schedule != null ? PlanFingerprint.of(schedule, options) : null;
+
+        PlanningFlights.Flight flight = planningFlights.board(userId, fingerprint, loadedAt);
+        long start = System.nanoTime();
+        if (!flight.takeOff()) {
+            System.out.println("User " + userId + " is already being planned, waiting for that plan");
+            LearningSchedule planned = planningFlights.await(flight);
+            return toResponse(userId, planned, latencyClass, (System.nanoTime() - start) / 1_000_000, false);
+        }
+
+        LearningSchedule planned = null;
+        boolean cached = false;
+        long solveMillis = 0L;
+        try {
+            if (schedule == null) {
+                replaceLearningSessions(userId, null, loadedAt);
+                planningFlights.land(flight, null);
+            } else {
+                planned = planFromCache(userId, schedule, fingerprint, loadedAt);
+                cached = planned != null;
+            }
+            if (cached) {
+                planningFlights.land(flight, planned);
+            } else if (schedule != null) {
+                // Optimize schedule; the greedy engine takes milliseconds and doesn't need a solver thread
+                if (options.getEngine() == PlanningOptions.Engine.GREEDY) {
+                    planned = solve(schedule, options, flight);
+                } else {
+                    planned = planningExecutor.submit(() -> solve(schedule, options, flight),
+                            PlanningExecutor.estimateBytes(schedule)).await();
+                }
+                solveMillis = (System.nanoTime() - start) / 1_000_000;
+
+                // Print score for debugging
+                System.out.println("Final score: " + planned.getScore() + " after " + solveMillis + " ms");
+
+                // a superseded plan is only saved if the newer request fails, otherwise that one saves its own
+                LearningSchedule solved = planned;
+                planningFlights.land(flight, solved, () -> {
+                    if (replaceLearningSessions(userId, solved, loadedAt)) {
+                        cacheSavedPlan(userId, fingerprint, solved);
+                    }
+                });
+            }
+        } catch (RuntimeException e) {
+            planningFlights.fail(flight, e);
+            throw e;
+        }
+
+        LearningSchedule result = planningFlights.await(flight);
+        if (result != planned) {
+            // superseded: the plan of the newer request
+            return toResponse(userId, result, latencyClass, (System.nanoTime() - start) / 1_000_000, false);
+        }
+        return toResponse(userId, planned, latencyClass, solveMillis, cached);
+    }
+
+    // the response for a plan, null if the user has nothing to plan
+    private static PlanningResponse toResponse(Long userId, LearningSchedule planned, String latencyClass,
+                                               long solveMillis, boolean cached) {
+        if (planned == null) {
+            return new PlanningResponse(userId, null, latencyClass, solveMillis, 0, false);
+        }
+        return new PlanningResponse(userId, planned.getScore().toString(), latencyClass, solveMillis,
+                planned.getSessionList().size(), cached);
+    }
+
+    /**
+     * Plans a schedule with the cached plan of its fingerprint instead of solving it. If the cached plan
+     * isn't the one saved for the user, e.g. because the user undid a change of a module, it replaces the
+     * user's future learning sessions; otherwise nothing is saved at all.
+     *
+     * @param userId userID of the user
+     * @param schedule the planning problem
+     * @param fingerprint the PlanFingerprint of the planning problem and the request
+     * @param loadedAt when the planning problem was loaded
+     * @return the planned schedule, or null if no plan is cached for the fingerprint
+     */
+    public LearningSchedule planFromCache(Long userId, LearningSchedule schedule, String fingerprint,
+                                          LocalDateTime loadedAt) {
+        Optional<PlanCache.CachedPlan> cached = planCache.get(fingerprint);
+        if (cached.isEmpty()) {
+            return null;
+        }
+        LearningSchedule planned = cached.get().applyTo(schedule);
+        if (planCache.isSaved(userId, fingerprint)) {
+            System.out.println("Nothing changed for user " + userId + ", the saved plan is kept");
+        } else {
+            System.out.println("Saving the cached plan for user " + userId);
+            if (replaceLearningSessions(userId, planned, loadedAt)) {
+                planCache.markSaved(userId, fingerprint);
+            }
+        }
+        return planned;
+    }
+
+    /**
+     * Caches a solved plan that has just been saved as the user's learning sessions.
+     *
+     * @param userId userID of the user
+     * @param fingerprint the PlanFingerprint of the planning problem and the request
+     * @param solved the saved plan
+     */
+    public void cacheSavedPlan(Long userId, String fingerprint, LearningSchedule solved) {
+        planCache.put(fingerprint, solved);
+        planCache.markSaved(userId, fingerprint);
+    }
+
+    /**
+     * Solves a planning problem with the engine of the options. The greedy engine plans the sessions
+     * in milliseconds; with greedy seed its plan is the initial solution of the OptaPlanner solver.
+     * The OptaPlanner solver runs with the move thread count the MoveThreadPolicy picks. With a latency class,
+     * the solve gets the budget of the class and stops once its score has plateaued.
+     * Schedules with a long horizon or many sessions are solved partitioned, starting from the greedy plan.
+     *
+     * @param schedule the planning problem
+     * @param options options of the planning request
+     * @return the solved schedule with its score calculated
+     */
+    public LearningSchedule solve(LearningSchedule schedule, PlanningOptions options) {
+        return solve(schedule, options, null);
+    }
+
+    /**
+     * Solves a planning problem for a planning request. The best solutions of the solver are passed to the
+     * flight, and the solver stops early once a newer request supersedes the flight or its job is cancelled.
+     *
+     * @param schedule the planning problem
+     * @param options options of the planning request
+     * @param flight the flight of the planning request, or null
+     * @return the solved schedule with its score calculated
+     */
+    public LearningSchedule solve(LearningSchedule schedule, PlanningOptions options, PlanningFlights.Flight flight) {
+        boolean greedy = options.getEngine() == PlanningOptions.Engine.GREEDY;
+        String profile = greedy ? options.getSolverProfile() : partitionPolicy.profileFor(options.getSolverProfile(), schedule);
+        // the partitioned search splits an initial plan into its time windows
+        if (greedy || options.isGreedySeed() || profile.equals(SmartPlannerMain.PARTITIONED_PROFILE)) {
+            long start = System.nanoTime();
+            GreedyPlanner.plan(schedule);
+            System.out.println("Greedy planning took " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        }
+        if (greedy) {
+            solverFactoryRegistry.calculateScore(schedule);
+            return schedule;
+        }
+        String moveThreadCount = moveThreadPolicy.acquire(profile);
+        PlanningOptions.LatencyClass latencyClass = options.getLatencyClass();
+        try {
+            Solver<LearningSchedule> solver = solverFactoryRegistry.buildSolver(profile, moveThreadCount, latencyClass);
+            if (flight != null) {
+                flight.onSolverStarted(solver::terminateEarly);
+                solver.addEventListener(event -> {
+                    flight.bestSolutionChanged(event.getNewBestSolution());
+                    // the solver forgets an early termination from before its start, so it's checked again
+                    if (flight.isStopped()) {
+                        solver.terminateEarly();
+                    }
+                });
+            }
+            if (latencyClass == null) {
+                return solver.solve(schedule);
+            }
+            try (PlateauWatchdog.Watch watch = plateauWatchdog.watch(
+                    latencyClass.plateauWindow(schedule.getSessionList().size()), solver::terminateEarly)) {
+                solver.addEventListener(event -> watch.bestScoreChanged(event.getNewBestSolution().getScore()));
+                return solver.solve(schedule);
+            }
+        } finally {
+            moveThreadPolicy.release(profile);
+        }
+    }
+
+    /**
+     * Builds the unsolved planning problem for a user: the modules with remaining hours as tasks,
+     * the user's fixed events and the date and time ranges derived from the user's preferences.
+     *
+     * @param userId userID of the user
+     * @return the planning problem, or null if no module has remaining hours to schedule
+     */
+    public LearningSchedule buildSchedule(Long userId) {
+        return buildSchedule(userId, false);
+    }
+
+    /**
+     * Builds the planning problem for a user. With warm start, the sessions are initialized with the
+     * dates and times of the user's existing future learning sessions of the same module, so the
+     * construction heuristic only has to plan the new sessions and the solver continues from the last plan.
+     *
+     * @param userId userID of the user
+     * @param warmStart whether the sessions are initialized from the existing future learning sessions
+     * @return the planning problem, or null if no module has remaining hours to schedule
+     */
+    public LearningSchedule buildSchedule(Long userId, boolean warmStart) {
         User user = userRepository.findByUserId(userId).orElseThrow();
         System.out.println("User-ID: " + userId);
 
         // load modules as tasks for the optimizer
         List<TaskForOptimizer> tasks = moduleRepository.findAllByUser_UserId(userId)
                 .stream()
-                .map(m -> {
-                    // Calculate remaining hours (total required - already studied)
-                    double remainingHours = m.getHoursRequired() - (m.getAlreadyStudied() != null ? m.getAlreadyStudied() : 0);
-
-                    // If module is already completed
-                    if (remainingHours <= 0) {
-                        System.out.println("Module " + m.getName() + " is already completed. Skipping.");
-                        return null;
-                    }
-
-                    System.out.println("Module " + m.getName() + ": " + remainingHours + " hours remaining (" +
-                            m.getHoursRequired() + " total - " + (m.getAlreadyStudied() != null ? m.getAlreadyStudied() : 0) + " studied)");
-
-                    // Create task for optimizer
-                    return new TaskForOptimizer(
-                            m.getName(),
-                            remainingHours, // Use remaining hours instead of total hours
-                            m.getDeadline(),
-                            user.getPrefSessionLength() / 60.0, // convert minutes into hours
-                            user.getPrefBreakLength() / 60.0     // convert minutes into hours
-                    );
-                })
+                .map(m -> toTask(m, user))
                 .filter(task -> task != null) // Remove null entries
                 .toList();
 
@@ -79,24 +309,13 @@ public class PlannerService {
         // If no tasks remain, exit early
         if (tasks.isEmpty()) {
             System.out.println("No modules with remaining hours found. No learning sessions to schedule.");
-            return;
+            return null;
         }
 
         // Load the fixed events for the user
         List<FixedEvent> fixedEvents = eventRepository.findAllByUser(user).stream()
-                .filter(e -> {
-                    // filter out events with a type that is not a learning session
-                    String type = e.getType();
-                    return type == null || !type.equals("learning session");
-                })
-                .map(e -> {
-                    // full day events: No learning sessions
-                    if (e.getIsFullDay() != null && e.getIsFullDay()) {
-                        return new FixedEvent(e.getStartDate(), LocalTime.of(0, 0), LocalTime.of(23, 59));
-                    }
-                    // normal events for fixed events
-                    return new FixedEvent(e.getStartDate(), e.getStartTime(), e.getEndTime());
-                })
+                .map(PlannerService::toFixedEvent)
+                .filter(e -> e != null) // learning sessions are no fixed events
                 .toList();
 
         // Generate Time and date range
@@ -113,6 +332,8 @@ public class PlannerService {
         schedule.setDateRange(dateRange);
         schedule.setTimeRange(timeRange);
         schedule.setFixedEventList(fixedEvents);
+        // the date range starts tomorrow, the distribution of the sessions is measured from there
+        schedule.setPlanningStart(new PlanningStart(LocalDate.now().plusDays(1)));
 
         // Set user preferences
         schedule.setUserPrefStudyStart(user.getPrefStartTime());
@@ -125,18 +346,169 @@ public class PlannerService {
         System.out.println("- Study end: " + user.getPrefEndTime());
         System.out.println("- Break length: " + user.getPrefBreakLength() + " minutes");
 
-        // Optimize schedule
-        Solver<LearningSchedule> solver = SmartPlannerMain.buildSolver();
-        LearningSchedule solved = solver.solve(schedule);
+        if (warmStart) {
+            applyExistingSessions(schedule, eventRepository.findAllByUser_UserIdAndTypeAndStartDateAfter(
+                    userId, "learning session", LocalDate.now()));
+        }
+
+        return schedule;
+    }
+
+    /**
+     * Initializes the sessions of each task with the dates and times of the existing learning sessions
+     * of the same module, earliest first. Existing sessions outside the slot range of their task are orphaned
+     * and their sessions stay uninitialized, just like the sessions the task needs in addition.
+     *
+     * @param schedule the planning problem
+     * @param existingSessions the user's existing future learning session events
+     */
+    private void applyExistingSessions(LearningSchedule schedule, List<Event> existingSessions) {
+        Map<String, List<Event>> existingByTitle = existingSessions.stream()
+                .sorted(Comparator.comparing(Event::getStartDate).thenComparing(Event::getStartTime,
+                        Comparator.nullsLast(Comparator.naturalOrder())))
+                .collect(Collectors.groupingBy(Event::getTitle, Collectors.toCollection(ArrayList::new)));
+        Map<TaskForOptimizer, Set<Integer>> slotRanges = new HashMap<>();
+
+        int reused = 0;
+        for (SessionForOptimizer session : schedule.getSessionList()) {
+            List<Event> existing = existingByTitle.get(learningSessionTitle(session.getTask()));
+            if (existing == null || existing.isEmpty()) {
+                continue;
+            }
+            Event event = existing.remove(0);
+            if (event.getStartDate() == null || event.getStartTime() == null) {
+                continue;
+            }
+            int slot = TimeSlots.of(event.getStartDate(), event.getStartTime());
+            if (slotRanges.computeIfAbsent(session.getTask(), task -> new HashSet<>(task.getSlotRange())).contains(slot)) {
+                session.setSlot(slot);
+                reused++;
+            }
+        }
+        System.out.println("Warm start: reused " + reused + " of " + schedule.getSessionList().size() + " sessions");
+    }
+
+    /**
+     * Maps a module to a task for the optimizer with the remaining hours of the module.
+     *
+     * @param m module of the user
+     * @param user the user, used for the preferred session and break length
+     * @return the task, or null if the module is already completed
+     */
+    public static TaskForOptimizer toTask(Module m, User user) {
+        // Calculate remaining hours (total required - already studied)
+        double remainingHours = m.getHoursRequired() - (m.getAlreadyStudied() != null ? m.getAlreadyStudied() : 0);
+
+        // If module is already completed
+        if (remainingHours <= 0) {
+            System.out.println("Module " + m.getName() + " is already completed. Skipping.");
+            return null;
+        }
+
+        System.out.println("Module " + m.getName() + ": " + remainingHours + " hours remaining (" +
+                m.getHoursRequired() + " total - " + (m.getAlreadyStudied() != null ? m.getAlreadyStudied() : 0) + " studied)");
+
+        // Create task for optimizer
+        TaskForOptimizer task = new TaskForOptimizer(
+                m.getName(),
+                remainingHours, // Use remaining hours instead of total hours
+                m.getDeadline(),
+                user.getPrefSessionLength() / 60.0, // convert minutes into hours
+                user.getPrefBreakLength() / 60.0     // convert minutes into hours
+        );
+        task.setModuleId(m.getId());
+        return task;
+    }
+
+    /**
+     * Maps an event to a fixed event for the optimizer.
+     *
+     * @param e event of the user
+     * @return the fixed event, or null if the event is a learning session
+     */
+    public static FixedEvent toFixedEvent(Event e) {
+        // filter out events with a type that is not a learning session
+        String type = e.getType();
+        if (type != null && type.equals("learning session")) {
+            return null;
+        }
+        // full day events: No learning sessions
+        if (e.getIsFullDay() != null && e.getIsFullDay()) {
+            return new FixedEvent(e.getId(), e.getStartDate(), LocalTime.of(0, 0), LocalTime.of(23, 59));
+        }
+        // normal events for fixed events
+        return new FixedEvent(e.getId(), e.getStartDate(), e.getStartTime(), e.getEndTime());
+    }
 
-        // Print score for debugging
-        System.out.println("Final score: " + solved.getScore());
+    /**
+     * Saves the sessions of a solved schedule as the future learning session events of the user. Only the
+     * difference to the saved learning sessions is written: unchanged sessions stay untouched, moved ones are
+     * updated in place, and the rest is inserted or deleted.
+     *
+     * @param userId userID of the user
+     * @param solved the solved schedule, or null if the user has nothing to plan and the sessions are only deleted
+     */
+    public void saveLearningSessions(Long userId, LearningSchedule solved) {
+        User user = userRepository.findByUserId(userId).orElseThrow();
+        planCache.forgetSaved(userId);
 
         // Save as events in database
-        List<Event> plannedEvents = solved.getSessionList().stream()
+        List<Event> plannedEvents = solved != null ? toEvents(user, solved) : List.of();
+        LearningSessionWriter.Writes writes = learningSessionWriter.write(Map.of(userId, plannedEvents));
+        System.out.println("Saved " + plannedEvents.size() + " learning sessions for user " + userId + ": " + writes);
+    }
+
+    /**
+     * Replaces the future learning sessions of a user with a plan while holding the user's planning lock,
+     * so no other node deletes or saves the user's sessions at the same time. A plan solved from inputs
+     * that were loaded before those of the saved plan is dropped instead.
+     *
+     * @param userId userID of the user
+     * @param planned the plan, or null if the user has nothing to plan and the sessions are only deleted
+     * @param loadedAt when the inputs of the plan were loaded
+     * @return true if the plan was saved, false if a newer plan is already saved
+     */
+    public boolean replaceLearningSessions(Long userId, LearningSchedule planned, LocalDateTime loadedAt) {
+        try (PlanningLocks.Lock lock = planningLocks.lock(userId)) {
+            if (lock.hasNewerPlan(loadedAt)) {
+                System.out.println("A newer plan is already saved for user " + userId + ", this one is dropped");
+                return false;
+            }
+            saveLearningSessions(userId, planned);
+            lock.planSaved(loadedAt);
+            return true;
+        }
+    }
+
+    /**
+     * Replaces the future learning sessions of many users in one transaction, e.g. for a page of the
+     * nightly replanning. The saved sessions of all users are loaded with one query, and only the difference
+     * to the new plans is written.
+     *
+     * @param solvedByUser the solved schedule of each user ID; null for users with nothing to plan,
+     *                     whose future learning sessions are only deleted
+     */
+    @Transactional
+    public void replaceLearningSessions(Map<Long, LearningSchedule> solvedByUser) {
+        Map<Long, User> users = userRepository.findAllById(solvedByUser.keySet()).stream()
+                .collect(Collectors.toMap(User::getUserId, user -> user));
+        Map<Long, List<Event>> plannedByUser = new HashMap<>();
+        for (Map.Entry<Long, LearningSchedule> entry : solvedByUser.entrySet()) {
+            planCache.forgetSaved(entry.getKey());
+            plannedByUser.put(entry.getKey(), entry.getValue() != null
+                    ? toEvents(users.get(entry.getKey()), entry.getValue()) : List.of());
+        }
+
+        LearningSessionWriter.Writes writes = learningSessionWriter.write(plannedByUser);
+        System.out.println("Saved the learning sessions of " + solvedByUser.size() + " users: " + writes);
+    }
+
+    // the sessions of a solved schedule as learning session events of the user
+    private static List<Event> toEvents(User user, LearningSchedule solved) {
+        return solved.getSessionList().stream()
                 .map(s -> {
                     Event e = new Event();
-                    e.setTitle("Learning Session: " + s.getTask().getName());
+                    e.setTitle(learningSessionTitle(s.getTask()));
                     e.setStartDate(s.getDate());
                     e.setEndDate(s.getDate());
                     e.setStartTime(s.getStartTime());
@@ -146,9 +518,11 @@ public class PlannerService {
                     e.setIsFullDay(false);
                     return e;
                 }).toList();
+    }
 
-        System.out.println("Created " + plannedEvents.size() + " learning sessions");
-        eventRepository.saveAll(plannedEvents);
+    // title of the learning session events of a task
+    private static String learningSessionTitle(TaskForOptimizer task) {
+        return "Learning Session: " + task.getName();
     }
 
     /**
@@ -159,6 +533,7 @@ public class PlannerService {
      */
     public void deleteFutureLearningSessions(Long userId) {
         LocalDate today = LocalDate.now();
+        planCache.forgetSaved(userId);
         System.out.println("Deleting future learning sessions for user " + userId + " after " + today);
         eventRepository.deleteAllByUserIdAndTypeAndStartDateAfter(userId, "learning session", today);
         System.out.println("Deletion completed");
@@ -0,0 +1,216 @@
+package com.example.API.Scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the solves of planning requests and jobs on a fixed number of threads with a bounded queue, so a burst
+ * of planning requests can't take the CPU and heap the REST endpoints need. A solve is only admitted while the
+ * queue has room and the estimated memory of all admitted solves stays within the heap budget; otherwise it's
+ * rejected with the time after which a retry is likely to be admitted. A single solve is always admitted on an
+ * idle executor, however large its estimate.
+ * The nightly replanning runs its solves here as well, so it shares the solver threads and the heap budget;
+ * it submits at most a few solves at a time and waits instead of failing while the executor is full.
+ */
+@Component
+public class PlanningExecutor {
+
+    // measured working set of a solve: ~0.8 MB at 39 sessions/30 days, ~2 MB at 286 sessions/270 days;
+    // the estimate is about twice that, the solver's garbage comes on top
+    private static final long BASE_BYTES = 2L * 1024 * 1024;
+    private static final long SESSION_BYTES = 8L * 1024;
+    // the slots of the value ranges: one boxed Integer and a reference per date and time
+    private static final long SLOT_BYTES = 32;
+
+    private final int threads;
+    private final long heapBudgetBytes;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong reservedBytes = new AtomicLong();
+    private final Timer waitTimer;
+    private final Timer runTimer;
+    private final Counter queueFullCounter;
+    private final Counter heapBudgetCounter;
+
+    /**
+     * Constructor for the PlanningExecutor.
+     * @param threads Number of solves that run at the same time, 0 for one per available processor.
+     * @param queueCapacity Number of solves that wait for a thread, further solves are rejected.
+     * @param maxHeapFraction Share of the maximum heap the admitted solves may take up by their estimates.
+     * @param meterRegistry Registry the queue depth, wait times and rejections are reported to.
+     */
+    public PlanningExecutor(@Value("${planner.executor.threads:0}") int threads,
+                            @Value("${planner.executor.queue-capacity:16}") int queueCapacity,
+                            @Value("${planner.executor.max-heap-fraction:0.5}") double maxHeapFraction,
+                            MeterRegistry meterRegistry) {
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.heapBudgetBytes = (long) (Runtime.getRuntime().maxMemory() * maxHeapFraction);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)), runnable -> {
+                    Thread thread = new Thread(runnable, "planning-solver-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Gauge.builder("planner.executor.queue.depth", executor, e -> e.getQueue().size())
+                .description("Planning solves waiting for a solver thread")
+                .register(meterRegistry);
+        Gauge.builder("planner.executor.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Planning solves running on the planning executor")
+                .register(meterRegistry);
+        Gauge.builder("planner.executor.reserved.bytes", reservedBytes, AtomicLong::get)
+                .description("Estimated heap of the admitted planning solves")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("planner.executor.wait")
+                .description("Time admitted planning solves waited for a solver thread")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("planner.executor.run")
+                .description("Time planning solves ran on the planning executor")
+                .register(meterRegistry);
+        this.queueFullCounter = Counter.builder("planner.executor.rejected").tag("reason", "queue-full")
+                .description("Planning solves rejected by the planning executor").register(meterRegistry);
+        this.heapBudgetCounter = Counter.builder("planner.executor.rejected").tag("reason", "heap-budget")
+                .description("Planning solves rejected by the planning executor").register(meterRegistry);
+    }
+
+    /**
+     * Estimates the heap a solve of a planning problem takes from its number of sessions, dates and times.
+     *
+     * @param schedule the planning problem
+     * @return the estimate in bytes
+     */
+    public static long estimateBytes(LearningSchedule schedule) {
+        long dates = schedule.getDateRange() != null ? schedule.getDateRange().size() : 0;
+        long times = schedule.getTimeRange() != null ? schedule.getTimeRange().size() : 0;
+        return BASE_BYTES + schedule.getSessionList().size() * SESSION_BYTES + dates * times * SLOT_BYTES;
+    }
+
+    /**
+     * Admits a solve and runs it once a solver thread is free.
+     *
+     * @param task the solve
+     * @param estimatedBytes estimated heap of the solve, see estimateBytes
+     * @return the admitted solve
+     * @throws PlanningRejectedException if the queue is full or the solve doesn't fit into the heap budget
+     */
+    public <T> Admission<T> submit(Callable<T> task, long estimatedBytes) {
+        synchronized (reservedBytes) {
+            long reserved = reservedBytes.get();
+            if (reserved > 0 && reserved + estimatedBytes > heapBudgetBytes) {
+                heapBudgetCounter.increment();
+                throw new PlanningRejectedException("Too much planning in progress, please try again later", retryAfter());
+            }
+            reservedBytes.addAndGet(estimatedBytes);
+        }
+        Admission<T> admission = new Admission<>(task, estimatedBytes);
+        try {
+            executor.execute(admission);
+        } catch (RejectedExecutionException e) {
+            reservedBytes.addAndGet(-estimatedBytes);
+            queueFullCounter.increment();
+            throw new PlanningRejectedException("The planning queue is full, please try again later", retryAfter());
+        }
+        return admission;
+    }
+
+    // number of solves that run at the same time
+    public int getThreads() {
+        return threads;
+    }
+
+    // time until the queued solves are likely done, from the mean run time of the last solves
+    private Duration retryAfter() {
+        double rounds = Math.ceil((executor.getQueue().size() + 1.0) / threads);
+        long seconds = Math.round(rounds * runTimer.mean(TimeUnit.SECONDS));
+        return Duration.ofSeconds(Math.max(seconds, 1));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * A solve that was admitted to the planning executor.
+     */
+    public class Admission<T> implements Runnable {
+
+        private final Callable<T> task;
+        private final long estimatedBytes;
+        private final long admittedAt = System.nanoTime();
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        // set once the solve starts or is cancelled, whichever comes first
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private Admission(Callable<T> task, long estimatedBytes) {
+            this.task = task;
+            this.estimatedBytes = estimatedBytes;
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            long start = System.nanoTime();
+            waitTimer.record(start - admittedAt, TimeUnit.NANOSECONDS);
+            try {
+                result.complete(task.call());
+            } catch (Throwable e) {
+                // e.g. an OutOfMemoryError of a solve that was larger than its estimate
+                result.completeExceptionally(e);
+            } finally {
+                runTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                reservedBytes.addAndGet(-estimatedBytes);
+            }
+        }
+
+        /**
+         * Cancels the solve if it's still waiting for a solver thread.
+         *
+         * @return true if the solve was cancelled, false if it has already started
+         */
+        public boolean cancel() {
+            if (!claimed.compareAndSet(false, true)) {
+                return false;
+            }
+            executor.remove(this);
+            reservedBytes.addAndGet(-estimatedBytes);
+            result.cancel(false);
+            return true;
+        }
+
+        public CompletableFuture<T> getResult() {
+            return result;
+        }
+
+        // waits for the result of the solve
+        public T await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.API.Scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Coalesces concurrent planning requests of the same user on this node. A request with the same fingerprint
+ * as the running planning of the user boards it and gets its plan instead of starting another solver.
+ * A request with a different fingerprint, e.g. after the user changed a module, supersedes it: the running
+ * solver is stopped early, its plan is neither saved nor cached, and its callers get the plan of the newer
+ * request. If the newer request is refused or cancelled instead, the superseded planning is completed and
+ * saved with the plan its solver had when it was stopped. Across nodes, the PlanningLocks keep the saved
+ * learning sessions consistent.
+ */
+@Component
+public class PlanningFlights {
+
+    // the latest planning of each user that hasn't landed yet
+    private final Map<Long, Flight> flights = new HashMap<>();
+    private final Counter startedCounter;
+    private final Counter joinedCounter;
+    private final Counter supersededCounter;
+
+    /**
+     * Constructor for the PlanningFlights.
+     * @param meterRegistry Registry the started, joined and superseded plannings are counted in.
+     */
+    public PlanningFlights(MeterRegistry meterRegistry) {
+        this.startedCounter = Counter.builder("planner.single.flight").tag("result", "started")
+                .description("Planning requests that started, joined or superseded a planning").register(meterRegistry);
+        this.joinedCounter = Counter.builder("planner.single.flight").tag("result", "joined")
+                .description("Planning requests that started, joined or superseded a planning").register(meterRegistry);
+        this.supersededCounter = Counter.builder("planner.single.flight").tag("result", "superseded")
+                .description("Planning requests that started, joined or superseded a planning").register(meterRegistry);
+    }
+
+    /**
+     * Boards the running planning of a user with the same fingerprint, or starts a new one that supersedes
+     * a running planning with a different fingerprint. The caller that takes off the flight plans it and
+     * lands or fails it; every caller gets the plan with await.
+     *
+     * @param userId userID of the user
+     * @param fingerprint the PlanFingerprint of the request, null if the user has nothing to plan
+     * @param loadedAt when the inputs of the request were loaded
+     * @return the flight of the request
+     */
+    public synchronized Flight board(Long userId, String fingerprint, LocalDateTime loadedAt) {
+        Flight running = flights.get(userId);
+        if (running != null && Objects.equals(running.fingerprint, fingerprint)) {
+            joinedCounter.increment();
+            return running;
+        }
+        Flight flight = new Flight(userId, fingerprint, loadedAt);
+        flights.put(userId, flight);
+        startedCounter.increment();
+        if (running != null) {
+            System.out.println("The inputs of user " + userId + " changed, the running planning is superseded");
+            supersededCounter.increment();
+            running.supersede(flight);
+        }
+        return flight;
+    }
+
+    /**
+     * Completes a flight with a plan that is already saved, or that isn't saved at all.
+     *
+     * @param flight the flight
+     * @param planned the plan, or null if the user has nothing to plan
+     */
+    public void land(Flight flight, LearningSchedule planned) {
+        land(flight, planned, () -> { });
+    }
+
+    /**
+     * Saves the plan of a flight and completes the flight with it. The plan of a superseded flight is held
+     * back, its callers get the plan of the flight that superseded it; only if that flight fails, the plan
+     * is saved and passed on after all.
+     *
+     * @param flight the flight
+     * @param planned the plan, or null if the user has nothing to plan
+     * @param save saves the plan
+     */
+    public void land(Flight flight, LearningSchedule planned, Runnable save) {
+        remove(flight);
+        flight.land(planned, save, null);
+    }
+
+    /**
+     * Fails a flight, e.g. because its solver failed or its job was cancelled. The flights it superseded
+     * are completed with their own plans instead.
+     *
+     * @param flight the flight
+     * @param error why the flight failed
+     */
+    public void fail(Flight flight, Throwable error) {
+        remove(flight);
+        flight.land(null, null, error);
+    }
+
+    /**
+     * Fails a flight and stops its solver, because the job that plans it was cancelled.
+     *
+     * @param flight the flight
+     * @param error why the flight failed
+     */
+    public void cancel(Flight flight, Throwable error) {
+        fail(flight, error);
+        Runnable running;
+        synchronized (flight) {
+            flight.cancelled = true;
+            running = flight.terminateEarly;
+        }
+        if (running != null) {
+            flight.terminate(running);
+        }
+    }
+
+    /**
+     * Waits for the plan of a flight.
+     *
+     * @param flight the flight
+     * @return the plan, or null if the user has nothing to plan
+     */
+    public LearningSchedule await(Flight flight) {
+        try {
+            return flight.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private synchronized void remove(Flight flight) {
+        flights.remove(flight.userId, flight);
+    }
+
+    /**
+     * The planning of one user's inputs, shared by all requests that boarded it.
+     */
+    public static class Flight {
+
+        private final Long userId;
+        private final String fingerprint;
+        private final LocalDateTime loadedAt;
+        private final CompletableFuture<LearningSchedule> result = new CompletableFuture<>();
+        private final AtomicBoolean takenOff = new AtomicBoolean();
+        private final List<Consumer<LearningSchedule>> bestSolutionListeners = new CopyOnWriteArrayList<>();
+        private volatile LearningSchedule bestSolution;
+        private Flight supersededBy;
+        private boolean cancelled;
+        private Runnable terminateEarly;
+        // the outcome of the flight's own planning, held back while the flight is superseded
+        private boolean landed;
+        private LearningSchedule plan;
+        private Runnable save;
+        private Throwable error;
+
+        private Flight(Long userId, String fingerprint, LocalDateTime loadedAt) {
+            this.userId = userId;
+            this.fingerprint = fingerprint;
+            this.loadedAt = loadedAt;
+        }
+
+        // true for the one caller that plans the flight
+        public boolean takeOff() {
+            return takenOff.compareAndSet(false, true);
+        }
+
+        public LocalDateTime getLoadedAt() {
+            return loadedAt;
+        }
+
+        public CompletableFuture<LearningSchedule> getResult() {
+            return result;
+        }
+
+        // superseded or cancelled: the solver stops early and its plan isn't saved
+        public synchronized boolean isStopped() {
+            return supersededBy != null || cancelled;
+        }
+
+        // the solver of the flight has been started; it's stopped right away if the flight is already stopped
+        public void onSolverStarted(Runnable terminateEarly) {
+            boolean stopped;
+            synchronized (this) {
+                this.terminateEarly = terminateEarly;
+                stopped = isStopped();
+            }
+            if (stopped) {
+                terminate(terminateEarly);
+            }
+        }
+
+        /**
+         * Ends the solve early because the user accepts its current best solution. Unlike a cancelled or
+         * superseded flight, the best solution is saved and is the plan of the flight.
+         *
+         * @return true if the solver was running, false if it hasn't started or the flight is stopped
+         */
+        public boolean acceptBestSolution() {
+            Runnable running;
+            synchronized (this) {
+                if (isStopped() || terminateEarly == null) {
+                    return false;
+                }
+                running = terminateEarly;
+            }
+            terminate(running);
+            return true;
+        }
+
+        // e.g. to show the current best score in the jobs that boarded the flight
+        public void addBestSolutionListener(Consumer<LearningSchedule> listener) {
+            bestSolutionListeners.add(listener);
+        }
+
+        public void removeBestSolutionListener(Consumer<LearningSchedule> listener) {
+            bestSolutionListeners.remove(listener);
+        }
+
+        // the latest best solution of the solver, null before the solver found one
+        public LearningSchedule getBestSolution() {
+            return bestSolution;
+        }
+
+        // called with every new best solution of the solver of the flight
+        public void bestSolutionChanged(LearningSchedule bestSolution) {
+            this.bestSolution = bestSolution;
+            bestSolutionListeners.forEach(listener -> listener.accept(bestSolution));
+        }
+
+        private void supersede(Flight successor) {
+            Runnable running;
+            synchronized (this) {
+                supersededBy = successor;
+                running = terminateEarly;
+            }
+            successor.result.whenComplete((planned, error) -> {
+                if (error == null) {
+                    result.complete(planned);
+                    return;
+                }
+                // the successor was refused or cancelled, this flight completes with its own plan
+                boolean complete;
+                synchronized (this) {
+                    supersededBy = null;
+                    complete = landed;
+                }
+                if (complete) {
+                    System.out.println("The planning that superseded the one of user " + userId
+                            + " failed, the superseded plan is kept");
+                    complete();
+                }
+            });
+            if (running != null) {
+                terminate(running);
+            }
+        }
+
+        // the first outcome counts, e.g. a cancelled flight doesn't save the plan of its stopped solver
+        private void land(LearningSchedule plan, Runnable save, Throwable error) {
+            synchronized (this) {
+                if (landed) {
+                    return;
+                }
+                landed = true;
+                this.plan = plan;
+                this.save = save;
+                this.error = error;
+                if (supersededBy != null) {
+                    return;
+                }
+            }
+            complete();
+        }
+
+        private void complete() {
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+            try {
+                save.run();
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            result.complete(plan);
+        }
+
+        private void terminate(Runnable terminateEarly) {
+            try {
+                terminateEarly.run();
+            } catch (RuntimeException e) {
+                // the solve has already ended
+                System.out.println("Could not stop the planning of user " + userId + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.API.Scheduler;
+
+import org.optaplanner.core.api.score.buildin.hardsoft.HardSoftScore;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * State of an asynchronous planning job. The job is updated from the solver thread
+ * (best score, result, status) and read from the request threads, so all mutable fields are volatile.
+ */
+public class PlanningJob {
+
+    public enum Status {
+        QUEUED,
+        SOLVING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+
+    private final Long jobId;
+    private final Long userId;
+    private final PlanningOptions.LatencyClass latencyClass;
+    private final Instant submittedAt;
+
+    private volatile Status status = Status.QUEUED;
+    private volatile HardSoftScore bestScore;
+    private volatile LearningSchedule result;
+    private volatile String errorMessage;
+    private volatile Instant finishedAt;
+    private volatile Instant solveStartedAt;
+    private volatile PlanningFlights.Flight flight;
+    private volatile boolean flightLeader;
+    private volatile PlanningExecutor.Admission<LearningSchedule> admission;
+    // clients that follow the job's best solutions
+    private final List<PlanningJobStream> streams = new CopyOnWriteArrayList<>();
+
+    public PlanningJob(Long jobId, Long userId, PlanningOptions.LatencyClass latencyClass) {
+        this.jobId = jobId;
+        this.userId = userId;
+        this.latencyClass = latencyClass;
+        this.submittedAt = Instant.now();
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    // null if the job runs with the termination of its solver profile
+    public PlanningOptions.LatencyClass getLatencyClass() {
+        return latencyClass;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public HardSoftScore getBestScore() {
+        return bestScore;
+    }
+
+    public void setBestScore(HardSoftScore bestScore) {
+        this.bestScore = bestScore;
+    }
+
+    public LearningSchedule getResult() {
+        return result;
+    }
+
+    public void setResult(LearningSchedule result) {
+        this.result = result;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Instant getSolveStartedAt() {
+        return solveStartedAt;
+    }
+
+    public void setSolveStartedAt(Instant solveStartedAt) {
+        this.solveStartedAt = solveStartedAt;
+    }
+
+    // the flight whose plan the job gets
+    public PlanningFlights.Flight getFlight() {
+        return flight;
+    }
+
+    public void setFlight(PlanningFlights.Flight flight) {
+        this.flight = flight;
+    }
+
+    // true if the job plans its flight, false if it boarded the flight of another request
+    public boolean isFlightLeader() {
+        return flightLeader;
+    }
+
+    public void setFlightLeader(boolean flightLeader) {
+        this.flightLeader = flightLeader;
+    }
+
+    // null until the job's solve is admitted to the PlanningExecutor
+    public PlanningExecutor.Admission<LearningSchedule> getAdmission() {
+        return admission;
+    }
+
+    public void setAdmission(PlanningExecutor.Admission<LearningSchedule> admission) {
+        this.admission = admission;
+    }
+
+    public List<PlanningJobStream> getStreams() {
+        return streams;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED || status == Status.CANCELLED;
+    }
+
+    // time spent from submission until the job finished (or until now while it's still running)
+    public Duration getElapsed() {
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        return Duration.between(submittedAt, end);
+    }
+
+    // time spent solving, without the time in the queue; null if the solver never started
+    public Duration getSolveDuration() {
+        if (solveStartedAt == null) {
+            return null;
+        }
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        return Duration.between(solveStartedAt, end);
+    }
+}
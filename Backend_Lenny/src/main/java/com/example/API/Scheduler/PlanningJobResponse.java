@@ -0,0 +1,130 @@
+package com.example.API.Scheduler;
+
+import java.util.List;
+
+public class PlanningJobResponse {
+    private Long jobId;
+    private Long userId;
+    private String status;
+    private String score;
+    private Long elapsedMillis;
+    private String latencyClass;
+    private Long solveMillis;
+    private String errorMessage;
+    private List<PlannedSessionResponse> sessions;
+
+    // constructor
+    public PlanningJobResponse(Long jobId, Long userId, String status, String score,
+                               Long elapsedMillis, String latencyClass, Long solveMillis, String errorMessage,
+                               List<PlannedSessionResponse> sessions) {
+        this.jobId = jobId;
+        this.userId = userId;
+        this.status = status;
+        this.score = score;
+        this.elapsedMillis = elapsedMillis;
+        this.latencyClass = latencyClass;
+        this.solveMillis = solveMillis;
+        this.errorMessage = errorMessage;
+        this.sessions = sessions;
+    }
+
+    /**
+     * Creates the response for a planning job.
+     *
+     * @param job the planning job
+     * @param includeSessions whether the planned sessions of the result should be included
+     * @return the response with status, current best score and optionally the planned sessions
+     */
+    public static PlanningJobResponse of(PlanningJob job, boolean includeSessions) {
+        List<PlannedSessionResponse> sessions = null;
+        if (includeSessions && job.getResult() != null) {
+            sessions = job.getResult().getSessionList().stream()
+                    .map(PlannedSessionResponse::of)
+                    .toList();
+        }
+        return new PlanningJobResponse(
+                job.getJobId(),
+                job.getUserId(),
+                job.getStatus().name(),
+                job.getBestScore() != null ? job.getBestScore().toString() : null,
+                job.getElapsed().toMillis(),
+                job.getLatencyClass() != null ? job.getLatencyClass().name() : null,
+                job.getSolveDuration() != null ? job.getSolveDuration().toMillis() : null,
+                job.getErrorMessage(),
+                sessions
+        );
+    }
+
+    // Getter and Setter
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(Long jobId) {
+        this.jobId = jobId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getScore() {
+        return score;
+    }
+
+    public void setScore(String score) {
+        this.score = score;
+    }
+
+    public Long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(Long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String getLatencyClass() {
+        return latencyClass;
+    }
+
+    public void setLatencyClass(String latencyClass) {
+        this.latencyClass = latencyClass;
+    }
+
+    public Long getSolveMillis() {
+        return solveMillis;
+    }
+
+    public void setSolveMillis(Long solveMillis) {
+        this.solveMillis = solveMillis;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public List<PlannedSessionResponse> getSessions() {
+        return sessions;
+    }
+
+    public void setSessions(List<PlannedSessionResponse> sessions) {
+        this.sessions = sessions;
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.API.Scheduler;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Runs planning requests as asynchronous jobs on the PlanningExecutor, so a request
+ * returns a job id right away instead of blocking a request thread for the whole solve.
+ */
+@Service
+public class PlanningJobService {
+
+    // finished jobs are kept this long so the client can still fetch the result
+    private static final Duration JOB_RETENTION = Duration.ofHours(1);
+    // an event stream is closed after this time, the client can reconnect
+    private static final Duration STREAM_TIMEOUT = Duration.ofMinutes(10);
+
+    private final PlannerService plannerService;
+    private final PlanningFlights planningFlights;
+    private final PlanningExecutor planningExecutor;
+    private final Map<Long, PlanningJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong jobIdCounter = new AtomicLong();
+    // sends the events of all job streams, so a slow client never blocks a solver thread
+    private final ExecutorService eventSender;
+
+    /**
+     * Constructor for the PlanningJobService.
+     * @param plannerService Service used to build the planning problem, to solve it and to save the solved sessions.
+     * @param planningFlights Registry that coalesces concurrent planning requests of the same user.
+     * @param planningExecutor Executor with a bounded queue that the solves of the jobs run on.
+     * @param eventThreads Number of threads that send the events of the job streams.
+     */
+    public PlanningJobService(PlannerService plannerService,
+                              PlanningFlights planningFlights,
+                              PlanningExecutor planningExecutor,
+                              @Value("${planner.jobs.event-threads:4}") int eventThreads) {
+        this.plannerService = plannerService;
+        this.planningFlights = planningFlights;
+        this.planningExecutor = planningExecutor;
+        if (eventThreads < 1) {
+            throw new IllegalArgumentException("Invalid planner.jobs.event-threads: " + eventThreads);
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        this.eventSender = Executors.newFixedThreadPool(eventThreads, runnable -> {
+            Thread thread = new Thread(runnable, "planning-events-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Submits a planning job for a user. The planning problem is loaded right away, the solving
+     * itself runs in the background. Once the solver finishes, the old future learning sessions
+     * are replaced by the new plan. A job whose planning problem hasn't changed since an earlier plan
+     * is completed right away with the cached plan. A job for a user who is already being planned with
+     * the same inputs completes with that plan instead of solving again; with changed inputs it supersedes
+     * the running planning, and the superseded job completes with the plan of the new one.
+     *
+     * @param userId userID of the user
+     * @param options options of the planning request (engine, warm start, greedy seed, latency class)
+     * @return the submitted job
+     * @throws PlanningRejectedException if the PlanningExecutor has no room for the solve of the job
+     */
+    public PlanningJob submit(Long userId, PlanningOptions options) {
+        evictFinishedJobs();
+
+        Long jobId = jobIdCounter.incrementAndGet();
+        PlanningJob job = new PlanningJob(jobId, userId, options.getLatencyClass());
+        jobs.put(jobId, job);
+
+        LocalDateTime loadedAt = LocalDateTime.now();
+        LearningSchedule schedule = plannerService.buildSchedule(userId, options.isWarmStart());
+        // a user with nothing to plan has no fingerprint
+        String fingerprint = schedule != null ? PlanFingerprint.of(schedule, options) : null;
+        PlanningFlights.Flight flight = planningFlights.board(userId, fingerprint, loadedAt);
+        job.setFlight(flight);
+        flight.addBestSolutionListener(best -> job.setBestScore(best.getScore()));
+        flight.getResult().whenComplete((planned, error) -> {
+            if (job.isFinished()) {
+                // cancelled
+                return;
+            }
+            if (error != null) {
+                job.setErrorMessage(error.getMessage());
+                finish(job, PlanningJob.Status.FAILED);
+                return;
+            }
+            if (planned != null) {
+                job.setBestScore(planned.getScore());
+                job.setResult(planned);
+            }
+            finish(job, PlanningJob.Status.COMPLETED);
+        });
+        if (!flight.takeOff()) {
+            System.out.println("User " + userId + " is already being planned, job " + jobId + " waits for that plan");
+            return job;
+        }
+        job.setFlightLeader(true);
+
+        try {
+            if (schedule == null) {
+                // nothing to schedule: old sessions are removed just like in the blocking planning
+                plannerService.replaceLearningSessions(userId, null, loadedAt);
+                planningFlights.land(flight, null);
+                return job;
+            }
+
+            LearningSchedule cached = plannerService.planFromCache(userId, schedule, fingerprint, loadedAt);
+            if (cached != null) {
+                planningFlights.land(flight, cached);
+                return job;
+            }
+
+            // a superseded plan is only saved if the newer request fails, otherwise that one saves its own;
+            // a cancelled plan is dropped
+            Consumer<LearningSchedule> save = solved -> {
+                if (plannerService.replaceLearningSessions(userId, solved, loadedAt)) {
+                    plannerService.cacheSavedPlan(userId, fingerprint, solved);
+                }
+            };
+            if (options.getEngine() == PlanningOptions.Engine.GREEDY) {
+                // the greedy engine takes milliseconds, so there is no need to run it in the background
+                LearningSchedule solved = plannerService.solve(schedule, options);
+                planningFlights.land(flight, solved, () -> save.accept(solved));
+                return job;
+            }
+
+            PlanningExecutor.Admission<LearningSchedule> admission = planningExecutor.submit(() -> {
+                synchronized (job) {
+                    if (job.isFinished()) {
+                        throw new IllegalStateException("Planning job " + jobId + " was cancelled");
+                    }
+                    job.setSolveStartedAt(Instant.now());
+                    job.setStatus(PlanningJob.Status.SOLVING);
+                }
+                return plannerService.solve(schedule, options, flight);
+            }, PlanningExecutor.estimateBytes(schedule));
+            job.setAdmission(admission);
+            admission.getResult().whenComplete((solved, error) -> {
+                if (error != null) {
+                    System.out.println("Planning job " + jobId + " failed: " + error.getMessage());
+                    planningFlights.fail(flight, error);
+                } else {
+                    planningFlights.land(flight, solved, () -> save.accept(solved));
+                }
+            });
+        } catch (PlanningRejectedException e) {
+            // the client gets no job ID
+            jobs.remove(jobId);
+            planningFlights.fail(flight, e);
+            throw e;
+        } catch (RuntimeException e) {
+            planningFlights.fail(flight, e);
+            throw e;
+        }
+        return job;
+    }
+
+    /**
+     * Returns the job with the given ID.
+     *
+     * @param jobId ID of the job
+     * @return the job, or empty if it doesn't exist (anymore)
+     */
+    public Optional<PlanningJob> getJob(Long jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    /**
+     * Opens a Server-Sent Events stream of a job's best solutions. The stream starts with the current best
+     * solution, if the solver has found one, and ends with the final plan once the job is finished.
+     *
+     * @param jobId ID of the job
+     * @return the event stream, or empty if the job doesn't exist (anymore)
+     */
+    public Optional<SseEmitter> stream(Long jobId) {
+        PlanningJob job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT.toMillis());
+        PlanningJobStream stream = new PlanningJobStream(jobId, emitter, eventSender);
+        synchronized (job) {
+            if (job.isFinished()) {
+                stream.finish(job);
+                return Optional.of(emitter);
+            }
+            // finish notifies the streams of the job once it's finished
+            job.getStreams().add(stream);
+        }
+        PlanningFlights.Flight flight = job.getFlight();
+        Consumer<LearningSchedule> listener = stream::bestSolutionChanged;
+        flight.addBestSolutionListener(listener);
+        if (flight.getBestSolution() != null) {
+            stream.bestSolutionChanged(flight.getBestSolution());
+        }
+        Runnable closed = () -> {
+            stream.close();
+            job.getStreams().remove(stream);
+            flight.removeBestSolutionListener(listener);
+        };
+        emitter.onCompletion(closed);
+        emitter.onTimeout(closed);
+        emitter.onError(error -> closed.run());
+        return Optional.of(emitter);
+    }
+
+    /**
+     * Ends the solve of a job early with its current best solution, which is saved like a fully solved plan.
+     * The jobs that boarded the same planning complete with it, too.
+     *
+     * @param jobId ID of the job
+     * @return the job, or empty if it doesn't exist (anymore)
+     * @throws IllegalStateException if no solver of the job is running
+     */
+    public Optional<PlanningJob> accept(Long jobId) {
+        PlanningJob job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+        if (job.getStatus() != PlanningJob.Status.SOLVING || !job.getFlight().acceptBestSolution()) {
+            throw new IllegalStateException("Planning job " + jobId + " is not solving");
+        }
+        return Optional.of(job);
+    }
+
+    /**
+     * Cancels a job. A queued job never starts, a running job stops solving.
+     * The result of a cancelled job is not saved, and the jobs that waited for its plan fail.
+     *
+     * @param jobId ID of the job
+     * @return the cancelled job, or empty if it doesn't exist (anymore)
+     */
+    public Optional<PlanningJob> cancel(Long jobId) {
+        PlanningJob job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+        if (!job.isFinished()) {
+            finish(job, PlanningJob.Status.CANCELLED);
+            if (job.getAdmission() != null) {
+                job.getAdmission().cancel();
+            }
+            if (job.isFlightLeader()) {
+                planningFlights.cancel(job.getFlight(), new IllegalStateException("Planning job " + jobId + " was cancelled"));
+            }
+        }
+        return Optional.of(job);
+    }
+
+    // a job is finished only once, e.g. a cancelled job doesn't become FAILED when its solver stops
+    private void finish(PlanningJob job, PlanningJob.Status status) {
+        List<PlanningJobStream> streams;
+        synchronized (job) {
+            if (job.isFinished()) {
+                return;
+            }
+            job.setFinishedAt(Instant.now());
+            job.setStatus(status);
+            streams = List.copyOf(job.getStreams());
+        }
+        streams.forEach(stream -> stream.finish(job));
+    }
+
+    // remove finished jobs that are older than the retention time
+    private void evictFinishedJobs() {
+        Instant threshold = Instant.now().minus(JOB_RETENTION);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(threshold));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        eventSender.shutdownNow();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.API.Scheduler;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streams the best solutions of a planning job to one client as Server-Sent Events. A "best-solution" event
+ * carries the new score and the sessions that moved since the previous event, so the client can render the
+ * plan while it's being solved. The "finished" event carries the status and all sessions of the final plan,
+ * then the stream is closed.
+ * The events are sent one after the other on the shared sender threads, never on the solver thread: a slow
+ * client skips intermediate solutions instead of slowing down the solver, and it only holds up its own events
+ * and one sender thread, not the streams of other jobs.
+ */
+public class PlanningJobStream {
+
+    private final Long jobId;
+    private final SseEmitter emitter;
+    private final Executor sender;
+    // the slot of each session in the last sent event, only used on the sender thread
+    private final Map<Long, Integer> sentSlots = new HashMap<>();
+    // the latest best solution that hasn't been sent yet
+    private final AtomicReference<LearningSchedule> pending = new AtomicReference<>();
+    // the events of this stream that wait for a sender thread, sent in order by one thread at a time
+    private final Queue<Runnable> events = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private volatile boolean closed;
+
+    public PlanningJobStream(Long jobId, SseEmitter emitter, Executor sender) {
+        this.jobId = jobId;
+        this.emitter = emitter;
+        this.sender = sender;
+    }
+
+    // called with every new best solution of the job's solver
+    public void bestSolutionChanged(LearningSchedule bestSolution) {
+        if (pending.getAndSet(bestSolution) == null) {
+            enqueue(this::sendPending);
+        }
+    }
+
+    // sends the final plan of a finished job and closes the stream
+    public void finish(PlanningJob job) {
+        enqueue(() -> {
+            pending.set(null);
+            LearningSchedule result = job.getResult();
+            List<PlannedSessionResponse> sessions = result == null ? List.of()
+                    : result.getSessionList().stream().map(PlannedSessionResponse::of).toList();
+            send("finished", new PlanningUpdateResponse(jobId, job.getStatus().name(),
+                    job.getBestScore() != null ? job.getBestScore().toString() : null, sessions));
+            close();
+            emitter.complete();
+        });
+    }
+
+    // the client is gone or the stream timed out
+    public void close() {
+        closed = true;
+    }
+
+    private void enqueue(Runnable event) {
+        events.add(event);
+        schedule();
+    }
+
+    private void schedule() {
+        if (!events.isEmpty() && sending.compareAndSet(false, true)) {
+            sender.execute(this::sendEvents);
+        }
+    }
+
+    private void sendEvents() {
+        try {
+            Runnable event;
+            while ((event = events.poll()) != null) {
+                event.run();
+            }
+        } finally {
+            sending.set(false);
+        }
+        // an event enqueued after the last poll
+        schedule();
+    }
+
+    private void sendPending() {
+        LearningSchedule bestSolution = pending.getAndSet(null);
+        if (bestSolution == null) {
+            return;
+        }
+        List<PlannedSessionResponse> moved = new ArrayList<>();
+        for (SessionForOptimizer session : bestSolution.getSessionList()) {
+            if (session.getSlot() != null && !Objects.equals(sentSlots.put(session.getId(), session.getSlot()), session.getSlot())) {
+                moved.add(PlannedSessionResponse.of(session));
+            }
+        }
+        send("best-solution", new PlanningUpdateResponse(jobId, PlanningJob.Status.SOLVING.name(),
+                bestSolution.getScore() != null ? bestSolution.getScore().toString() : null, moved));
+    }
+
+    private void send(String name, PlanningUpdateResponse update) {
+        if (closed) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(name).data(update));
+        } catch (IOException | IllegalStateException e) {
+            // the client has disconnected
+            close();
+        }
+    }
+}
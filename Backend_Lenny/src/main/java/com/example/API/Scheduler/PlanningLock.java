@@ -0,0 +1,66 @@
+package com.example.API.Scheduler;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lock on the learning sessions of a user, shared by all nodes through the database. A planning request holds
+ * it while it replaces the user's future learning sessions. The lock expires after its lease, so a node that
+ * dies while holding it doesn't block the user forever.
+ */
+@Entity
+@Table(name = "planning_lock")
+public class PlanningLock {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // random token of the current holder, null if the lock is free
+    @Column(name = "owner")
+    private String owner;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    // when the inputs of the saved plan were loaded, so an older plan doesn't replace a newer one
+    @Column(name = "plan_loaded_at")
+    private LocalDateTime planLoadedAt;
+
+    // Default constructor
+    public PlanningLock() {}
+
+    // Getter & Setter
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public void setLockedUntil(LocalDateTime lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+
+    public LocalDateTime getPlanLoadedAt() {
+        return planLoadedAt;
+    }
+
+    public void setPlanLoadedAt(LocalDateTime planLoadedAt) {
+        this.planLoadedAt = planLoadedAt;
+    }
+}
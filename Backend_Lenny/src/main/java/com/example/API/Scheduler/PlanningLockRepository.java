@@ -0,0 +1,37 @@
+package com.example.API.Scheduler;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface PlanningLockRepository extends JpaRepository<PlanningLock, Long> {
+
+    // creates the free lock of a user; fails with a duplicate key if another request created it first
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO planning_lock (user_id) VALUES (:userId)", nativeQuery = true)
+    void insertFree(@Param("userId") Long userId);
+
+    // takes the lock if it's free or its lease has expired, returns 0 if another request holds it
+    @Transactional
+    @Modifying
+    @Query("UPDATE PlanningLock l SET l.owner = :owner, l.lockedUntil = :lockedUntil WHERE l.userId = :userId"
+            + " AND (l.lockedUntil IS NULL OR l.lockedUntil < :now)")
+    int acquire(@Param("userId") Long userId,
+                @Param("owner") String owner,
+                @Param("lockedUntil") LocalDateTime lockedUntil,
+                @Param("now") LocalDateTime now);
+
+    // frees the lock if the owner still holds it, returns 0 if its lease has expired and another request took it
+    @Transactional
+    @Modifying
+    @Query("UPDATE PlanningLock l SET l.owner = NULL, l.lockedUntil = NULL, l.planLoadedAt = :planLoadedAt"
+            + " WHERE l.userId = :userId AND l.owner = :owner")
+    int release(@Param("userId") Long userId,
+                @Param("owner") String owner,
+                @Param("planLoadedAt") LocalDateTime planLoadedAt);
+}
@@ -0,0 +1,123 @@
+package com.example.API.Scheduler;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Locks the learning sessions of a user across all nodes with a row in the planning_lock table, so two
+ * planning requests never delete and save the sessions of the same user at the same time. The lock also
+ * remembers when the inputs of the saved plan were loaded: a plan solved from older inputs, e.g. by a slower
+ * request on another node, doesn't replace it.
+ */
+@Component
+public class PlanningLocks {
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final PlanningLockRepository repository;
+    private final Duration lease;
+    private final Duration maxWait;
+
+    /**
+     * Constructor for the PlanningLocks.
+     * @param repository Repository for the lock rows.
+     * @param lease How long a lock is held at most, after that another request may take it.
+     * @param maxWait How long a request waits for a lock held by another request.
+     */
+    public PlanningLocks(PlanningLockRepository repository,
+                         @Value("${planner.planning-lock.lease:1m}") Duration lease,
+                         @Value("${planner.planning-lock.max-wait:30s}") Duration maxWait) {
+        this.repository = repository;
+        this.lease = lease;
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Locks the learning sessions of a user, waiting while another request holds the lock.
+     *
+     * @param userId userID of the user
+     * @return the lock, to be closed once the sessions are replaced
+     * @throws IllegalStateException if the lock is still held by another request after the maximum wait
+     */
+    public Lock lock(Long userId) {
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        while (true) {
+            Optional<Lock> lock = tryLock(userId);
+            if (lock.isPresent()) {
+                return lock.get();
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("The learning sessions of user " + userId
+                        + " are locked by another planning request");
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the planning lock of user " + userId, e);
+            }
+        }
+    }
+
+    /**
+     * Locks the learning sessions of a user if no other request holds the lock.
+     *
+     * @param userId userID of the user
+     * @return the lock, or empty if another request holds it
+     */
+    public Optional<Lock> tryLock(Long userId) {
+        if (!repository.existsById(userId)) {
+            try {
+                repository.insertFree(userId);
+            } catch (DataIntegrityViolationException e) {
+                // created by another request in the meantime
+            }
+        }
+        String owner = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        if (repository.acquire(userId, owner, now.plus(lease), now) == 0) {
+            return Optional.empty();
+        }
+        LocalDateTime planLoadedAt = repository.findById(userId).map(PlanningLock::getPlanLoadedAt).orElse(null);
+        return Optional.of(new Lock(userId, owner, planLoadedAt));
+    }
+
+    /**
+     * A held lock on the learning sessions of a user.
+     */
+    public class Lock implements AutoCloseable {
+
+        private final Long userId;
+        private final String owner;
+        private LocalDateTime planLoadedAt;
+
+        private Lock(Long userId, String owner, LocalDateTime planLoadedAt) {
+            this.userId = userId;
+            this.owner = owner;
+            this.planLoadedAt = planLoadedAt;
+        }
+
+        // whether the saved plan was solved from inputs loaded after the given time
+        public boolean hasNewerPlan(LocalDateTime loadedAt) {
+            return planLoadedAt != null && planLoadedAt.isAfter(loadedAt);
+        }
+
+        // a plan solved from inputs loaded at the given time has been saved
+        public void planSaved(LocalDateTime loadedAt) {
+            this.planLoadedAt = loadedAt;
+        }
+
+        @Override
+        public void close() {
+            if (repository.release(userId, owner, planLoadedAt) == 0) {
+                System.out.println("The planning lock of user " + userId + " expired before it was released");
+            }
+        }
+    }
+}
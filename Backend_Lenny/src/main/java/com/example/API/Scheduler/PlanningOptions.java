@@ -0,0 +1,128 @@
+package com.example.API.Scheduler;
+
+import org.optaplanner.core.config.solver.termination.TerminationCompositionStyle;
+import org.optaplanner.core.config.solver.termination.TerminationConfig;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Options of a planning request, bound from the request parameters of the planning endpoints.
+ */
+public class PlanningOptions {
+
+    public enum Engine {
+        // metaheuristic search with OptaPlanner
+        OPTAPLANNER,
+        // earliest-deadline-first slot filler, see GreedyPlanner
+        GREEDY
+    }
+
+    /**
+     * Solve budget of a planning request. Each class has a time limit and a plateau window: the solve
+     * stops early once the plan is feasible and its best score hasn't improved for the window.
+     * The window grows with the number of sessions, because improvements of a larger plan take longer to find.
+     * Interactive solves start from the plan of the GreedyPlanner, because the construction heuristic alone
+     * can take longer than their time limit.
+     */
+    public enum LatencyClass {
+        // the user waits for the plan
+        INTERACTIVE(Duration.ofSeconds(3), Duration.ofMillis(250), Duration.ofMillis(5), Duration.ofSeconds(1), true),
+        STANDARD(Duration.ofSeconds(30), Duration.ofSeconds(1), Duration.ofMillis(20), Duration.ofSeconds(5), false),
+        // e.g. a planning job the user checks later
+        THOROUGH(Duration.ofMinutes(2), Duration.ofSeconds(5), Duration.ofMillis(50), Duration.ofSeconds(20), false);
+
+        private final Duration spentLimit;
+        private final Duration minPlateauWindow;
+        private final Duration plateauWindowPerSession;
+        private final Duration maxPlateauWindow;
+        private final boolean greedySeed;
+
+        LatencyClass(Duration spentLimit, Duration minPlateauWindow, Duration plateauWindowPerSession,
+                     Duration maxPlateauWindow, boolean greedySeed) {
+            this.spentLimit = spentLimit;
+            this.minPlateauWindow = minPlateauWindow;
+            this.plateauWindowPerSession = plateauWindowPerSession;
+            this.maxPlateauWindow = maxPlateauWindow;
+            this.greedySeed = greedySeed;
+        }
+
+        public Duration getSpentLimit() {
+            return spentLimit;
+        }
+
+        /**
+         * Returns the plateau window of a problem: the minimum window plus the window per session,
+         * at most the maximum window of the class.
+         *
+         * @param sessionCount number of sessions of the problem
+         * @return how long a feasible best score may stay unimproved before the solve stops
+         */
+        public Duration plateauWindow(int sessionCount) {
+            Duration window = minPlateauWindow.plus(plateauWindowPerSession.multipliedBy(sessionCount));
+            return window.compareTo(maxPlateauWindow) < 0 ? window : maxPlateauWindow;
+        }
+
+        /**
+         * Builds the termination of the class: the time limit, or a feasible best score that hasn't improved
+         * for the maximum plateau window. The SolverFactory is shared by problems of all sizes, so the
+         * plateau window of a single problem is enforced by the PlateauWatchdog.
+         *
+         * @return the termination config of the class
+         */
+        public TerminationConfig terminationConfig() {
+            TerminationConfig plateau = new TerminationConfig()
+                    .withTerminationCompositionStyle(TerminationCompositionStyle.AND)
+                    .withBestScoreFeasible(true)
+                    .withUnimprovedSpentLimit(maxPlateauWindow);
+            return new TerminationConfig()
+                    .withSpentLimit(spentLimit)
+                    .withTerminationConfigList(List.of(plateau));
+        }
+    }
+
+    private boolean warmStart = false;
+    private Engine engine = Engine.OPTAPLANNER;
+    private boolean greedySeed = false;
+    // null: the termination of the solver profile
+    private LatencyClass latencyClass;
+
+    // Getter and Setter
+    public boolean isWarmStart() {
+        return warmStart;
+    }
+
+    public void setWarmStart(boolean warmStart) {
+        this.warmStart = warmStart;
+    }
+
+    public Engine getEngine() {
+        return engine;
+    }
+
+    public void setEngine(Engine engine) {
+        this.engine = engine;
+    }
+
+    // also true if the latency class starts from the greedy plan
+    public boolean isGreedySeed() {
+        return greedySeed || (latencyClass != null && latencyClass.greedySeed);
+    }
+
+    public void setGreedySeed(boolean greedySeed) {
+        this.greedySeed = greedySeed;
+    }
+
+    public LatencyClass getLatencyClass() {
+        return latencyClass;
+    }
+
+    public void setLatencyClass(LatencyClass latencyClass) {
+        this.latencyClass = latencyClass;
+    }
+
+    // name of the solver profile used for the OptaPlanner engine
+    public String getSolverProfile() {
+        return warmStart ? SmartPlannerMain.WARM_START_PROFILE : SmartPlannerMain.DEFAULT_PROFILE;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.API.Scheduler;
+
+import java.time.Duration;
+
+/**
+ * Thrown when the PlanningExecutor doesn't admit a solve, because its queue is full or the solves it
+ * has already admitted would take up its heap budget. The request can be retried after retryAfter.
+ */
+public class PlanningRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter;
+
+    public PlanningRejectedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.API.Scheduler;
+
+public class PlanningResponse {
+    private Long userId;
+    private String score;
+    private String latencyClass;
+    private Long solveMillis;
+    private int sessionCount;
+    // true if the plan came from the plan cache instead of a solve
+    private boolean cached;
+
+    // constructor
+    public PlanningResponse(Long userId, String score, String latencyClass, Long solveMillis, int sessionCount,
+                            boolean cached) {
+        this.userId = userId;
+        this.score = score;
+        this.latencyClass = latencyClass;
+        this.solveMillis = solveMillis;
+        this.sessionCount = sessionCount;
+        this.cached = cached;
+    }
+
+    // Getter and Setter
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getScore() {
+        return score;
+    }
+
+    public void setScore(String score) {
+        this.score = score;
+    }
+
+    public String getLatencyClass() {
+        return latencyClass;
+    }
+
+    public void setLatencyClass(String latencyClass) {
+        this.latencyClass = latencyClass;
+    }
+
+    public Long getSolveMillis() {
+        return solveMillis;
+    }
+
+    public void setSolveMillis(Long solveMillis) {
+        this.solveMillis = solveMillis;
+    }
+
+    public int getSessionCount() {
+        return sessionCount;
+    }
+
+    public void setSessionCount(int sessionCount) {
+        this.sessionCount = sessionCount;
+    }
+
+    public boolean isCached() {
+        return cached;
+    }
+
+    public void setCached(boolean cached) {
+        this.cached = cached;
+    }
+}
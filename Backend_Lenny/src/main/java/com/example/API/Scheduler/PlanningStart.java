@@ -0,0 +1,27 @@
+package com.example.API.Scheduler;
+
+import java.time.LocalDate;
+
+/**
+ * First day of the planning horizon, fixed when the planning problem is built.
+ * Constraints read it instead of the wall clock, so a score doesn't change when the date changes
+ * during solving and a live schedule keeps the start it was planned with.
+ */
+public class PlanningStart {
+
+    private final LocalDate date;
+    private final long epochDay;
+
+    public PlanningStart(LocalDate date) {
+        this.date = date;
+        this.epochDay = date.toEpochDay();
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public long getEpochDay() {
+        return epochDay;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.API.Scheduler;
+
+import java.util.List;
+
+public class PlanningUpdateResponse {
+    private Long jobId;
+    private String status;
+    private String score;
+    // the sessions that moved since the previous update, or all sessions in the final update
+    private List<PlannedSessionResponse> sessions;
+
+    // constructor
+    public PlanningUpdateResponse(Long jobId, String status, String score, List<PlannedSessionResponse> sessions) {
+        this.jobId = jobId;
+        this.status = status;
+        this.score = score;
+        this.sessions = sessions;
+    }
+
+    // Getter and Setter
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(Long jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getScore() {
+        return score;
+    }
+
+    public void setScore(String score) {
+        this.score = score;
+    }
+
+    public List<PlannedSessionResponse> getSessions() {
+        return sessions;
+    }
+
+    public void setSessions(List<PlannedSessionResponse> sessions) {
+        this.sessions = sessions;
+    }
+}
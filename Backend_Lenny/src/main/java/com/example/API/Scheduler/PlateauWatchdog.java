@@ -0,0 +1,94 @@
+package com.example.API.Scheduler;
+
+import jakarta.annotation.PreDestroy;
+import org.optaplanner.core.api.score.buildin.hardsoft.HardSoftScore;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stops solves with a latency class once their best score is feasible and hasn't improved for the
+ * plateau window of their problem size. OptaPlanner's terminations are part of the SolverFactory,
+ * which all problems of a profile share, so a single scheduler thread checks the watched solves instead.
+ */
+@Component
+public class PlateauWatchdog {
+
+    private static final long CHECK_INTERVAL_MILLIS = 50;
+
+    private final Set<Watch> watches = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "plateau-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PlateauWatchdog() {
+        scheduler.scheduleWithFixedDelay(this::check, CHECK_INTERVAL_MILLIS, CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts watching a solve. The best score changes of the solve have to be passed to the watch,
+     * and the watch has to be closed once the solve is finished.
+     *
+     * @param plateauWindow how long a feasible best score may stay unimproved
+     * @param terminateEarly stops the solve, e.g. Solver.terminateEarly
+     * @return the watch of the solve
+     */
+    public Watch watch(Duration plateauWindow, Runnable terminateEarly) {
+        Watch watch = new Watch(plateauWindow.toNanos(), terminateEarly);
+        watches.add(watch);
+        return watch;
+    }
+
+    private void check() {
+        long now = System.nanoTime();
+        for (Watch watch : watches) {
+            if (watch.feasible && now - watch.lastImprovedAt >= watch.plateauWindowNanos && watches.remove(watch)) {
+                try {
+                    watch.terminateEarly.run();
+                } catch (RuntimeException e) {
+                    // the solve has already ended
+                    System.out.println("Plateau watchdog could not stop a solve: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Plateau state of one solve.
+     */
+    public class Watch implements AutoCloseable {
+
+        private final long plateauWindowNanos;
+        private final Runnable terminateEarly;
+        private volatile boolean feasible;
+        private volatile long lastImprovedAt = System.nanoTime();
+
+        private Watch(long plateauWindowNanos, Runnable terminateEarly) {
+            this.plateauWindowNanos = plateauWindowNanos;
+            this.terminateEarly = terminateEarly;
+        }
+
+        // called with every new best score of the solve
+        public void bestScoreChanged(HardSoftScore bestScore) {
+            feasible = bestScore.isSolutionInitialized() && bestScore.isFeasible();
+            lastImprovedAt = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            watches.remove(this);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.API.Scheduler;
+
+import java.time.Instant;
+
+public class RealTimePlanningResponse {
+    private Long userId;
+    private String solverStatus;
+    private String score;
+    private Instant lastPersistedAt;
+
+    // constructor
+    public RealTimePlanningResponse(Long userId, String solverStatus, String score, Instant lastPersistedAt) {
+        this.userId = userId;
+        this.solverStatus = solverStatus;
+        this.score = score;
+        this.lastPersistedAt = lastPersistedAt;
+    }
+
+    // Getter and Setter
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getSolverStatus() {
+        return solverStatus;
+    }
+
+    public void setSolverStatus(String solverStatus) {
+        this.solverStatus = solverStatus;
+    }
+
+    public String getScore() {
+        return score;
+    }
+
+    public void setScore(String score) {
+        this.score = score;
+    }
+
+    public Instant getLastPersistedAt() {
+        return lastPersistedAt;
+    }
+
+    public void setLastPersistedAt(Instant lastPersistedAt) {
+        this.lastPersistedAt = lastPersistedAt;
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.API.Scheduler;
+
+import com.example.API.Event.Event;
+import com.example.API.Module.Module;
+import jakarta.annotation.PreDestroy;
+import org.optaplanner.core.api.solver.SolverManager;
+import org.optaplanner.core.api.solver.SolverStatus;
+import org.optaplanner.core.api.solver.change.ProblemChange;
+import org.optaplanner.core.config.solver.SolverManagerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Real-time planning: keeps a live solver in daemon mode per active user. Changes of events and modules
+ * are fed to the live solver as problem changes, so the solver continues from the current plan instead
+ * of solving from scratch. Once the plan has settled, the best solution is saved as learning sessions.
+ */
+@Service
+public class RealTimePlanningService {
+
+    public enum StartResult {
+        STARTED,
+        ALREADY_RUNNING,
+        NOTHING_TO_PLAN,
+        LIMIT_REACHED
+    }
+
+    private final PlannerService plannerService;
+    private final SolverManager<LearningSchedule, Long> solverManager;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final Map<Long, LiveSchedule> liveSchedules = new ConcurrentHashMap<>();
+    private final int maxLiveSolvers;
+    private final Duration persistDelay;
+    private final Duration idleTimeout;
+
+    /**
+     * Constructor for the RealTimePlanningService.
+     * @param plannerService Service used to build the planning problem and to save the solved sessions.
+     * @param solverFactoryRegistry Registry with the shared SolverFactory of each solver profile.
+     * @param maxLiveSolvers Maximum number of users with a live solver. Each live solver holds a thread.
+     * @param persistDelay Time without a new best solution after which the plan is saved.
+     * @param idleTimeout Time without changes after which the live solver of a user is stopped.
+     */
+    public RealTimePlanningService(PlannerService plannerService,
+                                   SolverFactoryRegistry solverFactoryRegistry,
+                                   @Value("${planner.realtime.max-live-solvers:8}") int maxLiveSolvers,
+                                   @Value("${planner.realtime.persist-delay:1s}") Duration persistDelay,
+                                   @Value("${planner.realtime.idle-timeout:30m}") Duration idleTimeout) {
+        this.plannerService = plannerService;
+        this.maxLiveSolvers = maxLiveSolvers;
+        this.persistDelay = persistDelay;
+        this.idleTimeout = idleTimeout;
+        this.solverManager = SolverManager.create(
+                solverFactoryRegistry.getSolverFactory(SmartPlannerMain.REALTIME_PROFILE),
+                new SolverManagerConfig().withParallelSolverCount(String.valueOf(maxLiveSolvers)));
+        scheduler.scheduleAtFixedRate(this::stopIdleSolvers, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Starts a live solver for a user. The first plan is solved from scratch and saved once it has settled.
+     *
+     * @param userId userID of the user
+     * @return STARTED, or why no new live solver was started
+     */
+    public synchronized StartResult start(Long userId) {
+        LiveSchedule running = liveSchedules.get(userId);
+        if (running != null) {
+            running.touch();
+            return StartResult.ALREADY_RUNNING;
+        }
+        if (liveSchedules.size() >= maxLiveSolvers) {
+            return StartResult.LIMIT_REACHED;
+        }
+
+        LocalDateTime loadedAt = LocalDateTime.now();
+        LearningSchedule schedule = plannerService.buildSchedule(userId);
+        if (schedule == null) {
+            plannerService.replaceLearningSessions(userId, null, loadedAt);
+            return StartResult.NOTHING_TO_PLAN;
+        }
+
+        LiveSchedule live = new LiveSchedule(userId, loadedAt);
+        liveSchedules.put(userId, live);
+        solverManager.solveAndListen(userId,
+                id -> schedule,
+                bestSolution -> onBestSolution(live, bestSolution),
+                (id, throwable) -> {
+                    System.out.println("Real-time planning for user " + id + " failed: " + throwable.getMessage());
+                    liveSchedules.remove(id);
+                });
+        System.out.println("Real-time planning started for user " + userId);
+        return StartResult.STARTED;
+    }
+
+    /**
+     * Stops the live solver of a user. A plan that hasn't been saved yet is saved first.
+     *
+     * @param userId userID of the user
+     * @return true if the user had a live solver
+     */
+    public boolean stop(Long userId) {
+        LiveSchedule live = liveSchedules.remove(userId);
+        if (live == null) {
+            return false;
+        }
+        solverManager.terminateEarly(userId);
+        ScheduledFuture<?> pendingPersist = live.pendingPersist;
+        if (pendingPersist != null && pendingPersist.cancel(false)) {
+            persist(live);
+        }
+        System.out.println("Real-time planning stopped for user " + userId);
+        return true;
+    }
+
+    /**
+     * Returns the live schedule of a user.
+     *
+     * @param userId userID of the user
+     * @return the live schedule, or empty if the user has no live solver
+     */
+    public Optional<LiveSchedule> getLiveSchedule(Long userId) {
+        return Optional.ofNullable(liveSchedules.get(userId));
+    }
+
+    public SolverStatus getSolverStatus(Long userId) {
+        return solverManager.getSolverStatus(userId);
+    }
+
+    /**
+     * Feeds a created or updated event to the live solver of its user.
+     * The old version of the event is removed and the new one is added as fixed event.
+     *
+     * @param event the saved event
+     */
+    public void onEventSaved(Event event) {
+        if (event.getUser() == null) {
+            return;
+        }
+        Long userId = event.getUser().getUserId();
+        if (!liveSchedules.containsKey(userId)) {
+            return;
+        }
+        addProblemChange(userId, new RemoveFixedEventChange(event.getId()));
+        FixedEvent fixedEvent = PlannerService.toFixedEvent(event);
+        if (fixedEvent != null) {
+            addProblemChange(userId, new AddFixedEventChange(fixedEvent));
+        }
+    }
+
+    /**
+     * Feeds a deleted event to the live solver of its user.
+     *
+     * @param event the deleted event
+     */
+    public void onEventDeleted(Event event) {
+        if (event.getUser() == null) {
+            return;
+        }
+        addProblemChange(event.getUser().getUserId(), new RemoveFixedEventChange(event.getId()));
+    }
+
+    /**
+     * Feeds a created or updated module to the live solver of its user. Remaining hours and deadline of
+     * the task are updated; a completed module is removed with all its sessions.
+     *
+     * @param module the saved module
+     */
+    public void onModuleSaved(Module module) {
+        if (module.getUser() == null) {
+            return;
+        }
+        Long userId = module.getUser().getUserId();
+        if (!liveSchedules.containsKey(userId)) {
+            return;
+        }
+        TaskForOptimizer task = PlannerService.toTask(module, module.getUser());
+        if (task == null) {
+            addProblemChange(userId, new RemoveTaskChange(module.getId()));
+        } else {
+            addProblemChange(userId, new UpdateTaskChange(task));
+        }
+    }
+
+    private void addProblemChange(Long userId, ProblemChange<LearningSchedule> problemChange) {
+        LiveSchedule live = liveSchedules.get(userId);
+        if (live == null) {
+            return;
+        }
+        live.touch();
+        LocalDateTime changedAt = LocalDateTime.now();
+        solverManager.addProblemChange(userId, problemChange).thenRun(() -> live.changeApplied(changedAt));
+    }
+
+    // the plan is saved once no better solution was found for the persist delay
+    private void onBestSolution(LiveSchedule live, LearningSchedule bestSolution) {
+        synchronized (live) {
+            live.bestSolution = bestSolution;
+            live.bestSolutionLoadedAt = live.inputsLoadedAt;
+            if (!bestSolution.getScore().isSolutionInitialized()) {
+                return;
+            }
+            if (live.pendingPersist != null) {
+                live.pendingPersist.cancel(false);
+            }
+            live.pendingPersist = scheduler.schedule(() -> persist(live), persistDelay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // saved under the user's planning lock like any other plan, so it never overwrites a plan from newer inputs
+    private void persist(LiveSchedule live) {
+        synchronized (live) {
+            LearningSchedule solution = live.bestSolution;
+            if (solution == null || solution == live.persistedSolution) {
+                return;
+            }
+            try {
+                boolean saved = plannerService.replaceLearningSessions(live.userId, solution, live.bestSolutionLoadedAt);
+                live.persistedSolution = solution;
+                if (saved) {
+                    live.lastPersistedAt = Instant.now();
+                }
+            } catch (Exception e) {
+                System.out.println("Saving the real-time plan of user " + live.userId + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void stopIdleSolvers() {
+        Instant threshold = Instant.now().minus(idleTimeout);
+        for (LiveSchedule live : liveSchedules.values()) {
+            if (live.lastActivity.isBefore(threshold)) {
+                stop(live.userId);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        solverManager.close();
+    }
+
+    /**
+     * Live solver state of a user. The best solution is written by the solver thread.
+     */
+    public static class LiveSchedule {
+        private final Long userId;
+        // when the inputs the live solver has applied were loaded: at the start or with the latest problem change
+        private volatile LocalDateTime inputsLoadedAt;
+        private volatile LearningSchedule bestSolution;
+        private volatile LocalDateTime bestSolutionLoadedAt;
+        private volatile LearningSchedule persistedSolution;
+        private volatile Instant lastPersistedAt;
+        private volatile Instant lastActivity = Instant.now();
+        private volatile ScheduledFuture<?> pendingPersist;
+
+        private LiveSchedule(Long userId, LocalDateTime loadedAt) {
+            this.userId = userId;
+            this.inputsLoadedAt = loadedAt;
+        }
+
+        private void touch() {
+            lastActivity = Instant.now();
+        }
+
+        // the solver has applied a problem change with the inputs of that time
+        private synchronized void changeApplied(LocalDateTime changedAt) {
+            if (changedAt.isAfter(inputsLoadedAt)) {
+                inputsLoadedAt = changedAt;
+            }
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public LearningSchedule getBestSolution() {
+            return bestSolution;
+        }
+
+        public Instant getLastPersistedAt() {
+            return lastPersistedAt;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.API.Scheduler;
+
+import org.optaplanner.core.api.solver.change.ProblemChange;
+import org.optaplanner.core.api.solver.change.ProblemChangeDirector;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Problem change that removes the fixed event of an event from a live schedule.
+ */
+public class RemoveFixedEventChange implements ProblemChange<LearningSchedule> {
+
+    private final Long eventId;
+
+    public RemoveFixedEventChange(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    @Override
+    public void doChange(LearningSchedule schedule, ProblemChangeDirector problemChangeDirector) {
+        FixedEvent workingFixedEvent = schedule.getFixedEventList().stream()
+                .filter(e -> Objects.equals(e.getEventId(), eventId))
+                .findFirst()
+                .orElse(null);
+        if (workingFixedEvent == null) {
+            return;
+        }
+        List<FixedEvent> fixedEventList = LearningSchedule.changedCopy(schedule.getFixedEventList(),
+                list -> problemChangeDirector.removeProblemFact(workingFixedEvent, list::remove));
+        BusyTimeIndex.replaceFixedEventList(schedule, fixedEventList, problemChangeDirector);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.API.Scheduler;
+
+import org.optaplanner.core.api.solver.change.ProblemChange;
+import org.optaplanner.core.api.solver.change.ProblemChangeDirector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Problem change that removes a task and all its sessions from a live schedule,
+ * e.g. once the module is completed.
+ */
+public class RemoveTaskChange implements ProblemChange<LearningSchedule> {
+
+    private final Long moduleId;
+
+    public RemoveTaskChange(Long moduleId) {
+        this.moduleId = moduleId;
+    }
+
+    @Override
+    public void doChange(LearningSchedule schedule, ProblemChangeDirector problemChangeDirector) {
+        TaskForOptimizer workingTask = schedule.getTaskList().stream()
+                .filter(t -> Objects.equals(t.getModuleId(), moduleId))
+                .findFirst()
+                .orElse(null);
+        if (workingTask == null) {
+            return;
+        }
+
+        List<SessionForOptimizer> sessionList = new ArrayList<>(schedule.getSessionList());
+        schedule.setSessionList(sessionList);
+        for (SessionForOptimizer session : new ArrayList<>(sessionList)) {
+            if (session.getTask() == workingTask) {
+                problemChangeDirector.removeEntity(session, sessionList::remove);
+            }
+        }
+
+        schedule.setTaskList(LearningSchedule.changedCopy(schedule.getTaskList(),
+                list -> problemChangeDirector.removeProblemFact(workingTask, list::remove)));
+    }
+}
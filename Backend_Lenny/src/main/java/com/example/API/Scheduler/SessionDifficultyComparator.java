@@ -0,0 +1,24 @@
+package com.example.API.Scheduler;
+
+import java.util.Comparator;
+
+/**
+ * Orders sessions from the easiest to the most difficult to place. The First Fit Decreasing construction
+ * heuristic places the most difficult sessions first, while most slots are still free.
+ * A session is more difficult the earlier the deadline of its task, because fewer slots are left before it,
+ * and the longer it is, because it fits into fewer gaps between fixed events. Sessions without a deadline
+ * are the easiest.
+ */
+public class SessionDifficultyComparator implements Comparator<SessionForOptimizer> {
+
+    private static final Comparator<SessionForOptimizer> COMPARATOR = Comparator
+            .comparing((SessionForOptimizer session) -> session.getTask().getDeadline(),
+                    Comparator.nullsFirst(Comparator.reverseOrder()))
+            .thenComparingInt(SessionForOptimizer::getDurationMinutes)
+            .thenComparingLong(SessionForOptimizer::getId);
+
+    @Override
+    public int compare(SessionForOptimizer a, SessionForOptimizer b) {
+        return COMPARATOR.compare(a, b);
+    }
+}
@@ -3,19 +3,22 @@ package com.example.API.Scheduler;
 import org.optaplanner.core.api.domain.entity.PlanningEntity;
 import org.optaplanner.core.api.domain.variable.PlanningVariable;
 import org.optaplanner.core.api.domain.lookup.PlanningId;
+import org.optaplanner.core.api.domain.valuerange.ValueRangeProvider;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 
-@PlanningEntity
+// the construction heuristic places the sessions with the earliest deadline and the longest duration first
+@PlanningEntity(difficultyComparatorClass = SessionDifficultyComparator.class)
 public class SessionForOptimizer {
 	private TaskForOptimizer task;
 	@PlanningId
     private Long sid;
-	//variables to change when planning
-	@PlanningVariable(valueRangeProviderRefs = "dateRange")
-	private LocalDate date;
-	@PlanningVariable(valueRangeProviderRefs = "timeRange")
-	private LocalTime startTime;
+	//variable to change when planning: date and start time encoded as one slot (see TimeSlots)
+	private Integer slot;
+	// primitive parts of the slot, updated together with the slot so constraints don't decode or allocate
+	private int epochDay;
+	private int startMinute;
 	//constructors
 	public SessionForOptimizer() {}
 	public SessionForOptimizer(TaskForOptimizer task) {
@@ -25,29 +28,54 @@ public class SessionForOptimizer {
         return task;    }
     public void setTask(TaskForOptimizer task) {
         this.task = task;    }
-    public LocalDate getDate() {
-        return date;    }
-    public void setDate(LocalDate date) {
-        this.date = date;    }
-    public LocalTime getStartTime() {
-        return startTime;    }
-    public void setStartTime(LocalTime startTime) {
-        this.startTime = startTime;    }
+    // annotated on the getter, so the solver changes the slot through setSlot
+    @PlanningVariable(valueRangeProviderRefs = "slotRange")
+    public Integer getSlot() {
+        return slot;    }
+    public void setSlot(Integer slot) {
+        this.slot = slot;
+        if (slot != null) {
+            this.epochDay = TimeSlots.epochDayOf(slot);
+            this.startMinute = TimeSlots.minuteOf(slot);
+        }
+    }
+    // the slots of the session's task: up to the task's deadline and inside the user's window
+    @ValueRangeProvider(id = "slotRange")
+    public List<Integer> getSlotRange() {
+        return task.getSlotRange();    }
+    public int getEpochDay() {
+        return epochDay;    }
+    public int getStartMinute() {
+        return startMinute;    }
     public long getId() {
     	return this.sid;    }
     public void setId(long Id) {
     	this.sid = Id;    }
     
     //methods
+    public int getDurationMinutes() {
+    	return (int) Math.round(task.getSessionDuration()*60);
+    }
+    public int getEndMinute() {
+    	return startMinute + getDurationMinutes();
+    }
+    // date and times as objects, for turning the plan into events; constraints use the primitive getters
+    public LocalDate getDate() {
+    	if (slot == null) return null;
+    	return TimeSlots.dateOf(slot);
+    }
+    public LocalTime getStartTime() {
+    	if (slot == null) return null;
+    	return TimeSlots.timeOf(slot);
+    }
     public LocalTime getEndTime() {
-    	if (startTime == null) return null;
-    	long minutes = Math.round(task.getSessionDuration()*60);
-    	return this.startTime.plusMinutes(minutes);
+    	if (slot == null) return null;
+    	return getStartTime().plusMinutes(getDurationMinutes());
     }
     
     @Override
     public String toString() {
-        return "Session for " + task.getName() + " on " + date + " at " + startTime;
+        return "Session for " + task.getName() + " on " + getDate() + " at " + getStartTime();
     }
 }
 
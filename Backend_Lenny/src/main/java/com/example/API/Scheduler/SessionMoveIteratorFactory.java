@@ -0,0 +1,120 @@
+package com.example.API.Scheduler;
+
+import org.optaplanner.core.api.score.director.ScoreDirector;
+import org.optaplanner.core.impl.heuristic.selector.move.factory.MoveIteratorFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Creates the moves a student would make by hand: shift a session to the same time on one of the
+ * next or previous days, or slide it to a nearby slot. The slide is a nearby selection on time distance:
+ * the target is a few slots away in the session's slot range, closer slots are picked more often.
+ * The distance is taken from the session's current slot on every move, unlike OptaPlanner's nearby
+ * selection, which caches the distances of an origin that would not move here.
+ * Slots outside the session's slot range are never picked.
+ */
+public class SessionMoveIteratorFactory implements MoveIteratorFactory<LearningSchedule, SessionSlotMove> {
+
+    // at most one week forth or back for a day shift
+    private static final int MAX_DAY_SHIFT = 7;
+    // at most this many slots of the range forth or back for a slide
+    private static final int MAX_NEARBY_SLOTS = 8;
+    // a session that can't be moved is retried with another session this often
+    private static final int MAX_TRIES = 10;
+
+    @Override
+    public long getSize(ScoreDirector<LearningSchedule> scoreDirector) {
+        return (long) scoreDirector.getWorkingSolution().getSessionList().size() * 2 * (MAX_DAY_SHIFT + MAX_NEARBY_SLOTS);
+    }
+
+    // every session one day and one slot forth and back, for exhaustive move selection
+    @Override
+    public Iterator<SessionSlotMove> createOriginalMoveIterator(ScoreDirector<LearningSchedule> scoreDirector) {
+        List<SessionSlotMove> moves = new ArrayList<>();
+        for (SessionForOptimizer session : scoreDirector.getWorkingSolution().getSessionList()) {
+            if (session.getSlot() == null) {
+                continue;
+            }
+            for (int direction : new int[] {-1, 1}) {
+                SessionSlotMove dayShift = dayShift(session, direction);
+                if (dayShift != null) {
+                    moves.add(dayShift);
+                }
+                SessionSlotMove slide = slide(session, direction);
+                if (slide != null) {
+                    moves.add(slide);
+                }
+            }
+        }
+        return moves.iterator();
+    }
+
+    @Override
+    public Iterator<SessionSlotMove> createRandomMoveIterator(ScoreDirector<LearningSchedule> scoreDirector,
+                                                              Random workingRandom) {
+        List<SessionForOptimizer> sessions = scoreDirector.getWorkingSolution().getSessionList();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !sessions.isEmpty();
+            }
+
+            @Override
+            public SessionSlotMove next() {
+                return randomMove(sessions, workingRandom);
+            }
+        };
+    }
+
+    private static SessionSlotMove randomMove(List<SessionForOptimizer> sessions, Random random) {
+        SessionForOptimizer session = null;
+        for (int tries = 0; tries < MAX_TRIES; tries++) {
+            session = sessions.get(random.nextInt(sessions.size()));
+            if (session.getSlot() == null) {
+                continue;
+            }
+            int direction = random.nextBoolean() ? 1 : -1;
+            SessionSlotMove move = random.nextInt(3) == 0
+                    ? dayShift(session, direction * (1 + random.nextInt(MAX_DAY_SHIFT)))
+                    : slide(session, direction * nearbyDistance(random));
+            if (move != null) {
+                return move;
+            }
+        }
+        // not doable, the local search skips it
+        return new SessionSlotMove(session, session.getSlot(), "none");
+    }
+
+    // 1 up to MAX_NEARBY_SLOTS, the smaller the distance the more likely
+    private static int nearbyDistance(Random random) {
+        return 1 + random.nextInt(1 + random.nextInt(MAX_NEARBY_SLOTS));
+    }
+
+    // the same time a number of days later (or earlier, if negative), null if that's not in the slot range
+    private static SessionSlotMove dayShift(SessionForOptimizer session, int days) {
+        int toSlot = session.getSlot() + days * TimeSlots.MINUTES_PER_DAY;
+        if (Collections.binarySearch(session.getSlotRange(), toSlot) < 0) {
+            return null;
+        }
+        return new SessionSlotMove(session, toSlot, "day shift");
+    }
+
+    // the slot a number of slots later (or earlier, if negative) in the slot range, null if there is none
+    private static SessionSlotMove slide(SessionForOptimizer session, int distance) {
+        List<Integer> slotRange = session.getSlotRange();
+        int index = Collections.binarySearch(slotRange, session.getSlot());
+        if (index < 0) {
+            // the session is on a slot outside of its range, e.g. kept from an older plan: slide into the range
+            index = -index - 1 - (distance > 0 ? 1 : 0);
+        }
+        int toIndex = index + distance;
+        if (toIndex < 0 || toIndex >= slotRange.size()) {
+            return null;
+        }
+        return new SessionSlotMove(session, slotRange.get(toIndex), "slide");
+    }
+}
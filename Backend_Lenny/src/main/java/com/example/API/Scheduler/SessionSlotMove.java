@@ -0,0 +1,85 @@
+package com.example.API.Scheduler;
+
+import org.optaplanner.core.api.score.director.ScoreDirector;
+import org.optaplanner.core.impl.heuristic.move.AbstractMove;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Moves one session to another slot, e.g. to the same time on another day or to a nearby slot
+ * of the same day. Created by the SessionMoveIteratorFactory, which only picks slots of the session's slot range.
+ */
+public class SessionSlotMove extends AbstractMove<LearningSchedule> {
+
+    private final SessionForOptimizer session;
+    private final Integer toSlot;
+    // short name of the move kind, shown by the solver's move statistics
+    private final String type;
+
+    public SessionSlotMove(SessionForOptimizer session, Integer toSlot, String type) {
+        this.session = session;
+        this.toSlot = toSlot;
+        this.type = type;
+    }
+
+    @Override
+    public boolean isMoveDoable(ScoreDirector<LearningSchedule> scoreDirector) {
+        return !Objects.equals(session.getSlot(), toSlot);
+    }
+
+    @Override
+    protected SessionSlotMove createUndoMove(ScoreDirector<LearningSchedule> scoreDirector) {
+        return new SessionSlotMove(session, session.getSlot(), type);
+    }
+
+    @Override
+    protected void doMoveOnGenuineVariables(ScoreDirector<LearningSchedule> scoreDirector) {
+        scoreDirector.beforeVariableChanged(session, "slot");
+        session.setSlot(toSlot);
+        scoreDirector.afterVariableChanged(session, "slot");
+    }
+
+    // needed by multithreaded solving, which does the move on the working solution of a move thread
+    @Override
+    public SessionSlotMove rebase(ScoreDirector<LearningSchedule> destinationScoreDirector) {
+        return new SessionSlotMove(destinationScoreDirector.lookUpWorkingObject(session), toSlot, type);
+    }
+
+    @Override
+    public String getSimpleMoveTypeDescription() {
+        return getClass().getSimpleName() + "(" + type + ")";
+    }
+
+    @Override
+    public Collection<?> getPlanningEntities() {
+        return List.of(session);
+    }
+
+    @Override
+    public Collection<?> getPlanningValues() {
+        return List.of(toSlot);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SessionSlotMove other)) {
+            return false;
+        }
+        return session == other.session && Objects.equals(toSlot, other.toSlot);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(session, toSlot);
+    }
+
+    @Override
+    public String toString() {
+        return session + " -> " + TimeSlots.dateOf(toSlot) + " " + TimeSlots.timeOf(toSlot);
+    }
+}
@@ -3,15 +3,43 @@ package com.example.API.Scheduler;
 import java.time.LocalTime;
 import java.time.LocalDate;
 import java.time.Duration;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import org.optaplanner.core.api.solver.Solver;
 import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import org.optaplanner.core.config.constructionheuristic.ConstructionHeuristicType;
+import org.optaplanner.core.config.heuristic.selector.move.composite.UnionMoveSelectorConfig;
+import org.optaplanner.core.config.heuristic.selector.move.factory.MoveIteratorFactoryConfig;
+import org.optaplanner.core.config.heuristic.selector.move.generic.ChangeMoveSelectorConfig;
+import org.optaplanner.core.config.heuristic.selector.move.generic.SwapMoveSelectorConfig;
+import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
+import org.optaplanner.core.config.localsearch.LocalSearchType;
+import org.optaplanner.core.config.localsearch.decider.acceptor.AcceptorType;
+import org.optaplanner.core.config.localsearch.decider.acceptor.LocalSearchAcceptorConfig;
+import org.optaplanner.core.config.localsearch.decider.forager.LocalSearchForagerConfig;
+import org.optaplanner.core.config.partitionedsearch.PartitionedSearchPhaseConfig;
+import org.optaplanner.core.config.phase.PhaseConfig;
 import org.optaplanner.core.config.solver.SolverConfig;
 import org.optaplanner.core.config.solver.termination.TerminationConfig;
 
 public class SmartPlannerMain {
+	// solver profiles: each profile has its own solver configuration and a shared SolverFactory
+	public static final String DEFAULT_PROFILE = "default";
+	public static final String REALTIME_PROFILE = "realtime";
+	public static final String WARM_START_PROFILE = "warm-start";
+	// long horizons: the local search runs on time windows in parallel, see TimeWindowPartitioner
+	public static final String PARTITIONED_PROFILE = "partitioned";
+	public static final List<String> SOLVER_PROFILES = List.of(DEFAULT_PROFILE, REALTIME_PROFILE, WARM_START_PROFILE,
+			PARTITIONED_PROFILE);
+	// Simulated Annealing starts out accepting moves that cost a few soft points, but never hard ones
+	private static final String SIMULATED_ANNEALING_STARTING_TEMPERATURE = "0hard/5soft";
+	// a partition is done once its best score hasn't improved for this long, the rest of the time goes to the whole plan
+	private static final Duration PARTITION_UNIMPROVED_SPENT_LIMIT = Duration.ofSeconds(2);
+
 	public static void main(String[] args) { // Main + other following methods for testing; Left in for progress verification
 		List<TaskForOptimizer> tasks = loadTasks();
 		List<FixedEvent> events = loadFixedEvents();
@@ -28,6 +56,7 @@ public class SmartPlannerMain {
 		// Set up the planning problem
 		LearningSchedule schedule = new LearningSchedule(tasks, sessions);
 		schedule.setDateRange(dateRange);
+		schedule.setPlanningStart(new PlanningStart(LocalDate.now().plusDays(1)));
 		schedule.setTimeRange(timeRange);
 		schedule.setFixedEventList(events);
 
@@ -49,25 +78,210 @@ public class SmartPlannerMain {
 
 	/**
 	 * Builds a Solver instance configured for optimizing a LearningSchedule.
+	 * Only used for the testing in main; the application takes its solvers from the SolverFactoryRegistry.
 	 *
 	 * @return a Solver for solving and generating optimized LearningSchedule solutions.
 	 */
 	public static Solver<LearningSchedule> buildSolver() {
+		// Create solver with improved configuration
+		SolverFactory<LearningSchedule> solverFactory = SolverFactory.create(buildSolverConfig(DEFAULT_PROFILE));
+		return solverFactory.buildSolver();
+	}
+
+	/**
+	 * Builds the solver configuration of a solver profile for optimizing a LearningSchedule.
+	 *
+	 * @param profile name of the solver profile, one of SOLVER_PROFILES
+	 * @return the solver configuration with domain classes, constraints, phases and termination set
+	 */
+	public static SolverConfig buildSolverConfig(String profile) {
+		if (!SOLVER_PROFILES.contains(profile)) {
+			throw new IllegalArgumentException("Unknown solver profile: " + profile);
+		}
+
 		SolverConfig solverConfig = new SolverConfig()
 				.withSolutionClass(LearningSchedule.class)
 				.withEntityClasses(SessionForOptimizer.class)
 				.withConstraintProviderClass(Constraints.class);
 
+		// local search acceptor: Simulated Annealing finds the best plans when there is time for it
+		LocalSearchType localSearchType = LocalSearchType.SIMULATED_ANNEALING;
+
 		// termination config
 		TerminationConfig terminationConfig = new TerminationConfig()
 				.withSpentLimit(Duration.ofSeconds(30))  // limit duration to 30 seconds
 				.withUnimprovedSpentLimit(Duration.ofSeconds(5)); // Stop after 5 seconds without improvement
 
+		if (profile.equals(WARM_START_PROFILE)) {
+			// the solver continues from the last plan, so it only has to repair and polish it
+			terminationConfig = new TerminationConfig()
+					.withSpentLimit(Duration.ofSeconds(10))
+					.withUnimprovedSpentLimit(Duration.ofSeconds(1));
+			// Tabu Search is about as good, but stops improving sooner, so the unimproved limit ends the solve early
+			localSearchType = LocalSearchType.TABU_SEARCH;
+		}
+		if (profile.equals(REALTIME_PROFILE)) {
+			// daemon mode: instead of returning, the solver waits for problem changes once terminated
+			solverConfig.setDaemon(true);
+			terminationConfig = new TerminationConfig()
+					.withUnimprovedSpentLimit(Duration.ofSeconds(2));
+			localSearchType = LocalSearchType.TABU_SEARCH;
+		}
+
 		solverConfig.setTerminationConfig(terminationConfig);
+		// First Fit Decreasing places the sessions with the earliest deadline and the longest duration first
+		ConstructionHeuristicPhaseConfig constructionHeuristicPhaseConfig = new ConstructionHeuristicPhaseConfig()
+				.withConstructionHeuristicType(ConstructionHeuristicType.FIRST_FIT_DECREASING);
+		if (profile.equals(PARTITIONED_PROFILE)) {
+			// the windows are improved in parallel, then the whole plan is polished across the window borders;
+			// the partitioned search ends once no partition has improved the plan for the unimproved limit
+			solverConfig.withPhases(
+					constructionHeuristicPhaseConfig,
+					new PartitionedSearchPhaseConfig()
+							.withSolutionPartitionerClass(TimeWindowPartitioner.class)
+							.withPhaseConfigs(new LocalSearchPhaseConfig()
+									.withTerminationConfig(new TerminationConfig()
+											.withUnimprovedSpentLimit(PARTITION_UNIMPROVED_SPENT_LIMIT)))
+							.withTerminationConfig(new TerminationConfig()
+									.withUnimprovedSpentLimit(PARTITION_UNIMPROVED_SPENT_LIMIT)),
+					new LocalSearchPhaseConfig());
+		} else {
+			solverConfig.withPhases(constructionHeuristicPhaseConfig, new LocalSearchPhaseConfig());
+		}
+		return withLocalSearchType(solverConfig, localSearchType);
+	}
 
-		// Create solver with improved configuration
-		SolverFactory<LearningSchedule> solverFactory = SolverFactory.create(solverConfig);
-		return solverFactory.buildSolver();
+	/**
+	 * Loads the solver configuration of a solver profile from an OptaPlanner solver config XML file,
+	 * so phases, acceptor and termination can be tuned without a rebuild. The file may leave out the
+	 * domain classes and the constraints, they are filled in. The real-time profile always runs as a daemon,
+	 * because the real-time planning keeps its solver waiting for problem changes.
+	 *
+	 * @param profile name of the solver profile, one of SOLVER_PROFILES
+	 * @param file the solver config XML file
+	 * @return the solver configuration of the file
+	 */
+	public static SolverConfig loadSolverConfig(String profile, File file) {
+		if (!SOLVER_PROFILES.contains(profile)) {
+			throw new IllegalArgumentException("Unknown solver profile: " + profile);
+		}
+
+		SolverConfig solverConfig = SolverConfig.createFromXmlFile(file);
+		if (solverConfig.getSolutionClass() == null) {
+			solverConfig.setSolutionClass(LearningSchedule.class);
+		}
+		if (solverConfig.getEntityClassList() == null) {
+			solverConfig.withEntityClasses(SessionForOptimizer.class);
+		}
+		if (solverConfig.getScoreDirectorFactoryConfig() == null) {
+			solverConfig.withConstraintProviderClass(Constraints.class);
+		}
+		if (profile.equals(REALTIME_PROFILE)) {
+			solverConfig.setDaemon(true);
+		}
+		return solverConfig;
+	}
+
+	/**
+	 * Builds the solver configuration of a solver profile with multithreaded move evaluation.
+	 * With a move thread count other than NONE, the moves of a step are evaluated on that many
+	 * move threads and the solver thread only picks the winning move.
+	 *
+	 * @param profile name of the solver profile, one of SOLVER_PROFILES
+	 * @param moveThreadCount "NONE", "AUTO" or the number of move threads
+	 * @return the solver configuration of the profile with the move thread count set
+	 */
+	public static SolverConfig buildSolverConfig(String profile, String moveThreadCount) {
+		return buildSolverConfig(profile).withMoveThreadCount(moveThreadCount);
+	}
+
+	/**
+	 * Sets the acceptor of the local search phases, e.g. to compare acceptors in a benchmark.
+	 * Simulated Annealing gets a starting temperature of a few soft points and accepts the first accepted move.
+	 *
+	 * @param solverConfig the solver configuration of a profile, built by buildSolverConfig
+	 * @param localSearchType the local search type, which picks the acceptor and the forager
+	 * @return the same solver configuration with the local search type set
+	 */
+	public static SolverConfig withLocalSearchType(SolverConfig solverConfig, LocalSearchType localSearchType) {
+		for (LocalSearchPhaseConfig localSearchPhaseConfig : localSearchPhases(solverConfig)) {
+			if (localSearchType == LocalSearchType.SIMULATED_ANNEALING) {
+				// OptaPlanner has no default temperature for Simulated Annealing, so the acceptor is configured directly
+				localSearchPhaseConfig.setLocalSearchType(null);
+				localSearchPhaseConfig.setAcceptorConfig(new LocalSearchAcceptorConfig()
+						.withAcceptorTypeList(List.of(AcceptorType.SIMULATED_ANNEALING))
+						.withSimulatedAnnealingStartingTemperature(SIMULATED_ANNEALING_STARTING_TEMPERATURE));
+				localSearchPhaseConfig.setForagerConfig(new LocalSearchForagerConfig().withAcceptedCountLimit(1));
+			} else {
+				localSearchPhaseConfig.setLocalSearchType(localSearchType);
+				localSearchPhaseConfig.setAcceptorConfig(null);
+				localSearchPhaseConfig.setForagerConfig(null);
+			}
+		}
+		return solverConfig;
+	}
+
+	/**
+	 * Replaces the default moves of the local search with moves for study sessions: the change move for
+	 * jumps anywhere in the slot range, swaps of sessions of different tasks and the day shifts and nearby
+	 * slides of the SessionMoveIteratorFactory. Each kind is picked with a fixed probability, otherwise
+	 * the change and swap moves would be picked by the size of their huge neighbourhoods.
+	 * The partitioned profile gets the moves in the local search of the partitions and of the whole plan.
+	 *
+	 * @param solverConfig the solver configuration of a profile, built by buildSolverConfig
+	 * @return the same solver configuration with the session moves in its local search phase
+	 */
+	public static SolverConfig withSessionMoves(SolverConfig solverConfig) {
+		UnionMoveSelectorConfig moveSelectorConfig = new UnionMoveSelectorConfig().withMoveSelectors(
+				new ChangeMoveSelectorConfig().withFixedProbabilityWeight(1.0),
+				new SwapMoveSelectorConfig().withFilterClass(DifferentTaskSwapFilter.class).withFixedProbabilityWeight(1.0),
+				new MoveIteratorFactoryConfig().withMoveIteratorFactoryClass(SessionMoveIteratorFactory.class)
+						.withFixedProbabilityWeight(2.0));
+		for (LocalSearchPhaseConfig localSearchPhaseConfig : localSearchPhases(solverConfig)) {
+			localSearchPhaseConfig.setMoveSelectorConfig(moveSelectorConfig.copyConfig());
+		}
+		return solverConfig;
+	}
+
+	/**
+	 * Sets the number of days of the time windows the partitioned profile splits the plan into.
+	 *
+	 * @param solverConfig the solver configuration of the partitioned profile, built by buildSolverConfig
+	 * @param windowDays days per window, e.g. 7 for weeks
+	 * @return the same solver configuration with the window length set
+	 */
+	public static SolverConfig withPartitionWindowDays(SolverConfig solverConfig, int windowDays) {
+		for (PhaseConfig<?> phaseConfig : solverConfig.getPhaseConfigList()) {
+			if (phaseConfig instanceof PartitionedSearchPhaseConfig partitionedSearchPhaseConfig) {
+				partitionedSearchPhaseConfig.setSolutionPartitionerCustomProperties(
+						Map.of("windowDays", String.valueOf(windowDays)));
+				return solverConfig;
+			}
+		}
+		throw new IllegalArgumentException("The solver configuration has no partitioned search phase.");
+	}
+
+	// the local search phases of the solver configuration, including those of the partitions
+	private static List<LocalSearchPhaseConfig> localSearchPhases(SolverConfig solverConfig) {
+		List<LocalSearchPhaseConfig> localSearchPhaseConfigs = new ArrayList<>();
+		if (solverConfig.getPhaseConfigList() != null) {
+			for (PhaseConfig<?> phaseConfig : solverConfig.getPhaseConfigList()) {
+				if (phaseConfig instanceof LocalSearchPhaseConfig localSearchPhaseConfig) {
+					localSearchPhaseConfigs.add(localSearchPhaseConfig);
+				} else if (phaseConfig instanceof PartitionedSearchPhaseConfig partitionedSearchPhaseConfig
+						&& partitionedSearchPhaseConfig.getPhaseConfigList() != null) {
+					for (PhaseConfig<?> partitionPhaseConfig : partitionedSearchPhaseConfig.getPhaseConfigList()) {
+						if (partitionPhaseConfig instanceof LocalSearchPhaseConfig localSearchPhaseConfig) {
+							localSearchPhaseConfigs.add(localSearchPhaseConfig);
+						}
+					}
+				}
+			}
+		}
+		if (localSearchPhaseConfigs.isEmpty()) {
+			throw new IllegalArgumentException("The solver configuration has no local search phase.");
+		}
+		return localSearchPhaseConfigs;
 	}
 
 	private static List<TaskForOptimizer> loadTasks() {
@@ -80,8 +294,8 @@ public class SmartPlannerMain {
 
 	private static List<FixedEvent> loadFixedEvents() {
 		List<FixedEvent> events = new ArrayList<>();
-		events.add(new FixedEvent(LocalDate.of(2025, 6, 17), LocalTime.of(12, 30), LocalTime.of(14, 0)));
-		events.add(new FixedEvent(LocalDate.of(2025, 6, 18), LocalTime.of(15, 20), LocalTime.of(15, 40)));
+		events.add(new FixedEvent(1L, LocalDate.of(2025, 6, 17), LocalTime.of(12, 30), LocalTime.of(14, 0)));
+		events.add(new FixedEvent(2L, LocalDate.of(2025, 6, 18), LocalTime.of(15, 20), LocalTime.of(15, 40)));
 		return events;
 	}
 
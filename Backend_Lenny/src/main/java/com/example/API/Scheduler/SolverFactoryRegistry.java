@@ -0,0 +1,179 @@
+package com.example.API.Scheduler;
+
+import org.optaplanner.core.api.score.buildin.hardsoft.HardSoftScore;
+import org.optaplanner.core.api.solver.SolutionManager;
+import org.optaplanner.core.api.solver.Solver;
+import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.config.solver.SolverConfig;
+import org.optaplanner.core.config.solver.termination.TerminationConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds one SolverFactory per solver profile, move thread count and latency class. Creating a SolverFactory
+ * reflects over the domain classes and compiles the constraint streams of Constraints, so it's done once per
+ * combination and the factory is shared afterwards.
+ * A profile is built by SmartPlannerMain, unless the solver config directory has a file &lt;profile&gt;.xml
+ * for it, an OptaPlanner solver config that replaces the built-in configuration of the profile.
+ * SolverFactory is thread-safe, the solvers built from it are not.
+ */
+@Component
+public class SolverFactoryRegistry {
+
+    private final Map<String, SolverFactory<LearningSchedule>> solverFactories = new ConcurrentHashMap<>();
+    private final List<String> sessionMoveProfiles;
+    private final int partitionWindowDays;
+    private final Map<String, SolverConfig> externalSolverConfigs = new HashMap<>();
+
+    /**
+     * Constructor for the SolverFactoryRegistry.
+     * @param sessionMoveProfiles Profiles whose local search uses the session moves instead of the default moves.
+     * @param configDir Directory of solver config files named after their profile, empty for the built-in profiles.
+     * @param partitionWindowDays Days of the time windows of the built-in partitioned profile.
+     */
+    public SolverFactoryRegistry(@Value("${planner.solver.session-move-profiles:}") List<String> sessionMoveProfiles,
+                                 @Value("${planner.solver.config-dir:}") String configDir,
+                                 @Value("${planner.solver.partition.window-days:7}") int partitionWindowDays) {
+        for (String profile : sessionMoveProfiles) {
+            if (!SmartPlannerMain.SOLVER_PROFILES.contains(profile)) {
+                throw new IllegalArgumentException("Invalid planner.solver.session-move-profiles: " + profile);
+            }
+        }
+        this.sessionMoveProfiles = sessionMoveProfiles;
+        if (partitionWindowDays < 1) {
+            throw new IllegalArgumentException("Invalid planner.solver.partition.window-days: " + partitionWindowDays);
+        }
+        this.partitionWindowDays = partitionWindowDays;
+
+        if (!configDir.isBlank()) {
+            if (!new File(configDir).isDirectory()) {
+                throw new IllegalArgumentException("Invalid planner.solver.config-dir: " + configDir);
+            }
+            // loaded at startup, so a broken file fails the start and not the first solve of the profile
+            for (String profile : SmartPlannerMain.SOLVER_PROFILES) {
+                File file = new File(configDir, profile + ".xml");
+                if (file.isFile()) {
+                    SolverConfig solverConfig = SmartPlannerMain.loadSolverConfig(profile, file);
+                    SolverFactory.create(solverConfig).buildSolver();
+                    externalSolverConfigs.put(profile, solverConfig);
+                    System.out.println("Solver profile " + profile + " loaded from " + file.getAbsolutePath());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the shared single-threaded SolverFactory of a profile, creating it on first use.
+     *
+     * @param profile name of the solver profile
+     * @return the SolverFactory of the profile
+     */
+    public SolverFactory<LearningSchedule> getSolverFactory(String profile) {
+        return getSolverFactory(profile, SolverConfig.MOVE_THREAD_COUNT_NONE);
+    }
+
+    /**
+     * Returns the shared SolverFactory of a profile with a move thread count, creating it on first use.
+     *
+     * @param profile name of the solver profile
+     * @param moveThreadCount "NONE", "AUTO" or the number of move threads
+     * @return the SolverFactory of the profile and move thread count
+     */
+    public SolverFactory<LearningSchedule> getSolverFactory(String profile, String moveThreadCount) {
+        return getSolverFactory(profile, moveThreadCount, null);
+    }
+
+    /**
+     * Returns the shared SolverFactory of a profile with a move thread count and the termination
+     * of a latency class, creating it on first use.
+     *
+     * @param profile name of the solver profile
+     * @param moveThreadCount "NONE", "AUTO" or the number of move threads
+     * @param latencyClass latency class whose termination replaces the one of the profile, null to keep it
+     * @return the SolverFactory of the profile, move thread count and latency class
+     */
+    public SolverFactory<LearningSchedule> getSolverFactory(String profile, String moveThreadCount,
+                                                            PlanningOptions.LatencyClass latencyClass) {
+        return solverFactories.computeIfAbsent(profile + "/" + moveThreadCount + "/" + latencyClass, key -> {
+            SolverConfig solverConfig;
+            if (externalSolverConfigs.containsKey(profile)) {
+                // the move thread count is set per factory, so every factory gets its own copy
+                solverConfig = externalSolverConfigs.get(profile).copyConfig();
+            } else {
+                solverConfig = SmartPlannerMain.buildSolverConfig(profile);
+                if (sessionMoveProfiles.contains(profile)) {
+                    solverConfig = SmartPlannerMain.withSessionMoves(solverConfig);
+                }
+                if (profile.equals(SmartPlannerMain.PARTITIONED_PROFILE)) {
+                    solverConfig = SmartPlannerMain.withPartitionWindowDays(solverConfig, partitionWindowDays);
+                }
+            }
+            if (latencyClass != null && profile.equals(SmartPlannerMain.PARTITIONED_PROFILE)) {
+                // the partitions can't check the feasibility of the whole plan, only the time limit is passed on;
+                // the PlateauWatchdog still stops a feasible solve that has plateaued
+                solverConfig.setTerminationConfig(new TerminationConfig().withSpentLimit(latencyClass.getSpentLimit()));
+            } else if (latencyClass != null) {
+                solverConfig.setTerminationConfig(latencyClass.terminationConfig());
+            }
+            return SolverFactory.create(solverConfig.withMoveThreadCount(moveThreadCount));
+        });
+    }
+
+    /**
+     * Builds a new single-threaded solver of a profile. Each solve needs its own solver.
+     *
+     * @param profile name of the solver profile
+     * @return a new solver built from the shared SolverFactory of the profile
+     */
+    public Solver<LearningSchedule> buildSolver(String profile) {
+        return getSolverFactory(profile).buildSolver();
+    }
+
+    /**
+     * Builds a new solver of a profile with a move thread count. Each solve needs its own solver.
+     *
+     * @param profile name of the solver profile
+     * @param moveThreadCount "NONE", "AUTO" or the number of move threads
+     * @return a new solver built from the shared SolverFactory of the profile and move thread count
+     */
+    public Solver<LearningSchedule> buildSolver(String profile, String moveThreadCount) {
+        return getSolverFactory(profile, moveThreadCount).buildSolver();
+    }
+
+    /**
+     * Builds a new solver of a profile with a move thread count and the termination of a latency class.
+     *
+     * @param profile name of the solver profile
+     * @param moveThreadCount "NONE", "AUTO" or the number of move threads
+     * @param latencyClass latency class whose termination replaces the one of the profile, null to keep it
+     * @return a new solver built from the shared SolverFactory
+     */
+    public Solver<LearningSchedule> buildSolver(String profile, String moveThreadCount,
+                                                PlanningOptions.LatencyClass latencyClass) {
+        return getSolverFactory(profile, moveThreadCount, latencyClass).buildSolver();
+    }
+
+    /**
+     * Calculates the score of a schedule without solving it, e.g. for a schedule planned by the GreedyPlanner.
+     * The score is set on the schedule.
+     *
+     * @param schedule the schedule
+     * @return the calculated score
+     */
+    public HardSoftScore calculateScore(LearningSchedule schedule) {
+        SolutionManager<LearningSchedule, HardSoftScore> solutionManager =
+                SolutionManager.create(getSolverFactory(SmartPlannerMain.DEFAULT_PROFILE));
+        return solutionManager.update(schedule);
+    }
+
+    // all profiles that can be requested
+    public List<String> getProfiles() {
+        return SmartPlannerMain.SOLVER_PROFILES;
+    }
+}
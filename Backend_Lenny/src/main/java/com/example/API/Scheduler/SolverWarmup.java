@@ -0,0 +1,114 @@
+package com.example.API.Scheduler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.optaplanner.core.api.solver.Solver;
+import org.optaplanner.core.config.solver.SolverConfig;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms up the solver of every profile at startup by solving a synthetic LearningSchedule.
+ * This runs before the web server starts, so the SolverFactory is built, the constraint streams are
+ * compiled and the JIT is hot before the first planning request arrives. The SolverFactories of the same
+ * profile with the termination of a latency class or with move threads are built right after, without a solve.
+ * The warm-up time is reported as the "planner.solver.warmup" metric and under /actuator/info.
+ */
+@Component
+public class SolverWarmup implements SmartInitializingSingleton, InfoContributor {
+
+    private final SolverFactoryRegistry solverFactoryRegistry;
+    private final MoveThreadPolicy moveThreadPolicy;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration solveDuration;
+    private final Map<String, Map<String, Object>> results = new LinkedHashMap<>();
+
+    /**
+     * Constructor for the SolverWarmup.
+     * @param solverFactoryRegistry Registry with the shared SolverFactory of each profile.
+     * @param moveThreadPolicy Policy with the move thread counts a solve can get.
+     * @param meterRegistry Registry the warm-up times are reported to.
+     * @param enabled Whether the solvers are warmed up at startup.
+     * @param solveDuration How long the synthetic schedule is solved per profile.
+     */
+    public SolverWarmup(SolverFactoryRegistry solverFactoryRegistry,
+                        MoveThreadPolicy moveThreadPolicy,
+                        MeterRegistry meterRegistry,
+                        @Value("${planner.warmup.enabled:true}") boolean enabled,
+                        @Value("${planner.warmup.solve-duration:5s}") Duration solveDuration) {
+        this.solverFactoryRegistry = solverFactoryRegistry;
+        this.moveThreadPolicy = moveThreadPolicy;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.solveDuration = solveDuration;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            System.out.println("Solver warm-up disabled");
+            return;
+        }
+        for (String profile : solverFactoryRegistry.getProfiles()) {
+            warmUp(profile);
+        }
+    }
+
+    private void warmUp(String profile) {
+        long start = System.nanoTime();
+        // the factory is built on first use, so its creation is part of the warm-up time
+        Solver<LearningSchedule> solver = solverFactoryRegistry.buildSolver(profile);
+        long factoryNanos = System.nanoTime() - start;
+
+        // the profile's own termination may run much longer, so the warm-up solve is stopped early
+        CompletableFuture.delayedExecutor(solveDuration.toMillis(), TimeUnit.MILLISECONDS)
+                .execute(solver::terminateEarly);
+        LearningSchedule solved = solver.solve(SyntheticScheduleGenerator.generate(5, 40, 21, 42L));
+        long totalNanos = System.nanoTime() - start;
+
+        Timer.builder("planner.solver.warmup")
+                .description("Time to build the SolverFactory and solve a synthetic schedule at startup")
+                .tag("profile", profile)
+                .register(meterRegistry)
+                .record(totalNanos, TimeUnit.NANOSECONDS);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("factoryMillis", TimeUnit.NANOSECONDS.toMillis(factoryNanos));
+        result.put("totalMillis", TimeUnit.NANOSECONDS.toMillis(totalNanos));
+        result.put("score", String.valueOf(solved.getScore()));
+        result.put("otherFactoriesMillis", buildOtherFactories(profile));
+        results.put(profile, result);
+
+        System.out.println("Solver warm-up for profile " + profile + " took " + result.get("totalMillis") + " ms, "
+                + result.get("otherFactoriesMillis") + " ms for its other solver factories");
+    }
+
+    // every request picks a SolverFactory by its latency class and move thread count, each compiles its own constraint streams
+    private long buildOtherFactories(String profile) {
+        long start = System.nanoTime();
+        for (String moveThreadCount : moveThreadPolicy.moveThreadCounts(profile)) {
+            for (PlanningOptions.LatencyClass latencyClass : PlanningOptions.LatencyClass.values()) {
+                solverFactoryRegistry.buildSolver(profile, moveThreadCount, latencyClass);
+            }
+            if (!moveThreadCount.equals(SolverConfig.MOVE_THREAD_COUNT_NONE)) {
+                solverFactoryRegistry.buildSolver(profile, moveThreadCount);
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        builder.withDetail("solverWarmup", results);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.API.Scheduler;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates synthetic planning problems, used to warm up the solvers at startup.
+ * A fixed seed always generates the same problem (relative to the current date).
+ */
+public class SyntheticScheduleGenerator {
+
+    private static final int[] SESSION_MINUTES = {45, 60, 90, 120};
+
+    /**
+     * Generates a LearningSchedule with the given number of modules and fixed events.
+     *
+     * @param taskCount number of modules to plan
+     * @param fixedEventCount number of fixed events, spread over the horizon
+     * @param horizonDays days from tomorrow until the latest deadline
+     * @param seed seed of the random generator
+     * @return an unsolved LearningSchedule
+     */
+    public static LearningSchedule generate(int taskCount, int fixedEventCount, int horizonDays, long seed) {
+        Random random = new Random(seed);
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        int sessionMinutes = SESSION_MINUTES[random.nextInt(SESSION_MINUTES.length)];
+
+        List<TaskForOptimizer> tasks = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            // the last module always ends at the horizon, the others somewhere in between
+            int deadlineOffset = i == taskCount - 1 ? horizonDays - 1 : random.nextInt(horizonDays);
+            double hoursRequired = 4 + random.nextInt(20);
+            TaskForOptimizer task = new TaskForOptimizer("Module " + (i + 1), hoursRequired,
+                    tomorrow.plusDays(deadlineOffset), sessionMinutes / 60.0, 0.25);
+            task.setModuleId((long) (i + 1));
+            tasks.add(task);
+        }
+
+        List<FixedEvent> fixedEvents = new ArrayList<>();
+        for (int i = 0; i < fixedEventCount; i++) {
+            LocalDate date = tomorrow.plusDays(random.nextInt(horizonDays));
+            // full day events are mapped to 00:00 - 23:59 like in the PlannerService
+            if (random.nextInt(20) == 0) {
+                fixedEvents.add(new FixedEvent((long) (i + 1), date, LocalTime.of(0, 0), LocalTime.of(23, 59)));
+                continue;
+            }
+            LocalTime start = LocalTime.of(8 + random.nextInt(12), random.nextBoolean() ? 0 : 30);
+            fixedEvents.add(new FixedEvent((long) (i + 1), date, start, start.plusMinutes(45 + 15 * random.nextInt(8))));
+        }
+
+        LearningSchedule schedule = new LearningSchedule(tasks, SmartPlannerMain.generateSessions(tasks));
+        schedule.setDateRange(SmartPlannerMain.generateDateRange(tasks));
+        schedule.setPlanningStart(new PlanningStart(tomorrow));
+        schedule.setTimeRange(SmartPlannerMain.generateTimeRange());
+        schedule.setFixedEventList(fixedEvents);
+        schedule.setUserPrefStudyStart(LocalTime.of(8, 0));
+        schedule.setUserPrefStudyEnd(LocalTime.of(22, 0));
+        schedule.setUserBreakLengthMinutes(15);
+        return schedule;
+    }
+}
@@ -1,13 +1,24 @@
 package com.example.API.Scheduler;
 
+import org.optaplanner.core.api.domain.lookup.PlanningId;
+
 import java.time.LocalDate;
+import java.util.List;
 
 public class TaskForOptimizer {
+	@PlanningId // needed to look up the task in problem changes
+	private Long moduleId;
 	private String name;
     private double hoursRequired;
     private LocalDate deadline;
     private double sessionDuration;
     private double studyTime;
+    // start slots of the sessions of this task, maintained by LearningSchedule.updateSlotRanges
+    private List<Integer> slotRange = List.of();
+    // only set on the copies of a partition (see TimeWindowPartitioner): the sessions of the task in earlier
+    // windows and in the whole schedule, so the even distribution is measured on the whole timeline
+    private int sessionIndexOffset;
+    private int totalSessionCount;
     
     //constructor
     public TaskForOptimizer(String name, double hoursRequired, LocalDate deadline, double sessionDuration, double breakDuration) {
@@ -19,13 +30,17 @@ public class TaskForOptimizer {
     }
     
     //Setters, getters
+    public Long getModuleId() {
+        return moduleId;    }
+    public void setModuleId(Long moduleId) {
+        this.moduleId = moduleId;    }
     public String getName() {
         return name;    }
     public void setName(String name) {
         this.name = name;    }
     public double getHoursRequired() {
         return hoursRequired;    }
-    public void setHoursRequired(int hoursRequired) {
+    public void setHoursRequired(double hoursRequired) {
         this.hoursRequired = hoursRequired;    }
     public LocalDate getDeadline() {
         return deadline;    }
@@ -36,6 +51,19 @@ public class TaskForOptimizer {
     public void setSessionDuration(int sessionDuration) {
         this.sessionDuration = sessionDuration;    }
     
+    public List<Integer> getSlotRange() {
+        return slotRange;    }
+    public void setSlotRange(List<Integer> slotRange) {
+        this.slotRange = slotRange;    }
+    public int getSessionIndexOffset() {
+        return sessionIndexOffset;    }
+    public void setSessionIndexOffset(int sessionIndexOffset) {
+        this.sessionIndexOffset = sessionIndexOffset;    }
+    public int getTotalSessionCount() {
+        return totalSessionCount;    }
+    public void setTotalSessionCount(int totalSessionCount) {
+        this.totalSessionCount = totalSessionCount;    }
+    
     //methods
     public int getRecommendedSessionCount() {
     	return (int) Math.ceil(this.hoursRequired/this.studyTime);
@@ -1,34 +1,262 @@
 package com.example.API.Scheduler;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/planning")
 public class TaskPlanningController {
 
     private final PlannerService planningService;
+    private final PlanningJobService planningJobService;
+    private final RealTimePlanningService realTimePlanningService;
+    private final CohortPlanningService cohortPlanningService;
 
-    public TaskPlanningController(PlannerService planningService) {
+    public TaskPlanningController(PlannerService planningService,
+                                  PlanningJobService planningJobService,
+                                  RealTimePlanningService realTimePlanningService,
+                                  CohortPlanningService cohortPlanningService) {
         this.planningService = planningService;
+        this.planningJobService = planningJobService;
+        this.realTimePlanningService = realTimePlanningService;
+        this.cohortPlanningService = cohortPlanningService;
     }
 
     /**
-     * Deleting old learning sessions and generating a new learning plan for a user.
+     * Generating a new learning plan for a user, replacing the old learning sessions.
      *
      * @param userId userID from user
-     * @return a ResponseEntity with an HTTP status indicating the result of the operation
+     * @param options planning options from the request parameters: engine (OPTAPLANNER or GREEDY),
+     *                warmStart, greedySeed and latencyClass (INTERACTIVE, STANDARD or THOROUGH)
+     * @return a ResponseEntity containing the score of the new plan and the time the solve took,
+     *         or a 429 status code with a Retry-After header if too much planning is in progress
      */
     @PostMapping("/user/{userId}")
-    public ResponseEntity<Void> generateLearningPlan(@PathVariable Long userId) {
+    public ResponseEntity<PlanningResponse> generateLearningPlan(@PathVariable Long userId, PlanningOptions options) {
         System.out.println("userId = " + userId);
-        planningService.deleteFutureLearningSessions(userId); // Step 1: delete old sessions
-        planningService.planForUser(userId);
-        return ResponseEntity.ok().build();
+        try {
+            return ResponseEntity.ok(planningService.planForUser(userId, options));
+        } catch (PlanningRejectedException e) {
+            return tooManyRequests(e);
+        }
+    }
+
+    /**
+     * Submits a planning job for a user. Returns right away with the job ID, the old learning sessions
+     * are replaced once the job is completed.
+     *
+     * @param userId userID from user
+     * @param options planning options from the request parameters: engine, warmStart, greedySeed and latencyClass
+     * @return a ResponseEntity with status 202 and the submitted job,
+     *         or a 429 status code with a Retry-After header if too much planning is in progress
+     */
+    @PostMapping("/jobs/user/{userId}")
+    public ResponseEntity<PlanningJobResponse> submitPlanningJob(@PathVariable Long userId, PlanningOptions options) {
+        try {
+            PlanningJob job = planningJobService.submit(userId, options);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(PlanningJobResponse.of(job, false));
+        } catch (PlanningRejectedException e) {
+            return tooManyRequests(e);
+        }
+    }
+
+    // the planning executor didn't admit the solve: the client should retry later
+    private static <T> ResponseEntity<T> tooManyRequests(PlanningRejectedException e) {
+        System.out.println("Planning rejected: " + e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()))
+                .build();
     }
 
+    /**
+     * Returns the status and the current best score of a planning job.
+     *
+     * @param jobId ID of the job
+     * @return a ResponseEntity containing the job status, or a 404 status code if the job does not exist
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<PlanningJobResponse> getPlanningJob(@PathVariable Long jobId) {
+        Optional<PlanningJob> job = planningJobService.getJob(jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(PlanningJobResponse.of(job.get(), false));
+    }
+
+    /**
+     * Returns the final result of a planning job including the planned sessions.
+     *
+     * @param jobId ID of the job
+     * @return a ResponseEntity containing the result, a 404 status code if the job does not exist
+     *         or a 409 status code if the job is not finished yet
+     */
+    @GetMapping("/jobs/{jobId}/result")
+    public ResponseEntity<PlanningJobResponse> getPlanningJobResult(@PathVariable Long jobId) {
+        Optional<PlanningJob> job = planningJobService.getJob(jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!job.get().isFinished()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(PlanningJobResponse.of(job.get(), false));
+        }
+        return ResponseEntity.ok(PlanningJobResponse.of(job.get(), true));
+    }
+
+    /**
+     * Streams the best solutions of a planning job as Server-Sent Events. Every "best-solution" event carries
+     * the new score and the sessions that moved, the "finished" event the final status and plan.
+     *
+     * @param jobId ID of the job
+     * @return a ResponseEntity containing the event stream, or a 404 status code if the job does not exist
+     */
+    @GetMapping(path = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamPlanningJob(@PathVariable Long jobId) {
+        Optional<SseEmitter> emitter = planningJobService.stream(jobId);
+        if (emitter.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(emitter.get());
+    }
+
+    /**
+     * Accepts the current best solution of a planning job: the solver stops and that solution is saved.
+     *
+     * @param jobId ID of the job
+     * @return a ResponseEntity containing the job, a 404 status code if the job does not exist
+     *         or a 409 status code if the job is not solving
+     */
+    @PostMapping("/jobs/{jobId}/accept")
+    public ResponseEntity<PlanningJobResponse> acceptPlanningJob(@PathVariable Long jobId) {
+        try {
+            Optional<PlanningJob> job = planningJobService.accept(jobId);
+            if (job.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(PlanningJobResponse.of(job.get(), false));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * Cancels a planning job. The result of a cancelled job is not saved.
+     *
+     * @param jobId ID of the job
+     * @return a ResponseEntity containing the cancelled job, or a 404 status code if the job does not exist
+     */
+    @DeleteMapping("/jobs/{jobId}")
+    public ResponseEntity<PlanningJobResponse> cancelPlanningJob(@PathVariable Long jobId) {
+        Optional<PlanningJob> job = planningJobService.cancel(jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(PlanningJobResponse.of(job.get(), false));
+    }
 
-}
\ No newline at end of file
+    /**
+     * Starts real-time planning for a user. While it's running, changes of the user's events and modules
+     * update the plan incrementally instead of a full replanning.
+     *
+     * @param userId userID from user
+     * @return a ResponseEntity with status 202 if the live solver was started, 200 if it was already running
+     *         or there is nothing to plan, or 503 if the maximum number of live solvers is reached
+     */
+    @PostMapping("/realtime/user/{userId}")
+    public ResponseEntity<String> startRealTimePlanning(@PathVariable Long userId) {
+        RealTimePlanningService.StartResult result = realTimePlanningService.start(userId);
+        return switch (result) {
+            case STARTED -> ResponseEntity.status(HttpStatus.ACCEPTED).body("Real-time planning started");
+            case ALREADY_RUNNING -> ResponseEntity.ok("Real-time planning is already running");
+            case NOTHING_TO_PLAN -> ResponseEntity.ok("No modules with remaining hours found");
+            case LIMIT_REACHED -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body("Too many users with real-time planning. Please try again later.");
+        };
+    }
+
+    /**
+     * Returns the status and the current best score of the real-time planning of a user.
+     *
+     * @param userId userID from user
+     * @return a ResponseEntity containing the status, or a 404 status code if real-time planning isn't running
+     */
+    @GetMapping("/realtime/user/{userId}")
+    public ResponseEntity<RealTimePlanningResponse> getRealTimePlanning(@PathVariable Long userId) {
+        Optional<RealTimePlanningService.LiveSchedule> live = realTimePlanningService.getLiveSchedule(userId);
+        if (live.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        LearningSchedule bestSolution = live.get().getBestSolution();
+        return ResponseEntity.ok(new RealTimePlanningResponse(
+                userId,
+                realTimePlanningService.getSolverStatus(userId).name(),
+                bestSolution != null ? bestSolution.getScore().toString() : null,
+                live.get().getLastPersistedAt()));
+    }
+
+    /**
+     * Stops the real-time planning of a user. A plan that hasn't been saved yet is saved first.
+     *
+     * @param userId userID from user
+     * @return a ResponseEntity with status 200, or a 404 status code if real-time planning isn't running
+     */
+    @DeleteMapping("/realtime/user/{userId}")
+    public ResponseEntity<String> stopRealTimePlanning(@PathVariable Long userId) {
+        if (!realTimePlanningService.stop(userId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok("Real-time planning stopped");
+    }
+
+    /**
+     * Starts replanning all users in the background, like the nightly run. An interrupted run is
+     * continued after its last saved user.
+     *
+     * @return a ResponseEntity with status 202 and the run, or 409 if a run is already running
+     */
+    @PostMapping("/cohort")
+    public ResponseEntity<CohortPlanningResponse> startCohortPlanning() {
+        CohortPlanningService.StartResult result = cohortPlanningService.start();
+        System.out.println("Replanning all users: " + result);
+        CohortPlanningResponse run = cohortPlanningService.getLatestRun().map(CohortPlanningResponse::of).orElse(null);
+        if (result == CohortPlanningService.StartResult.ALREADY_RUNNING) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(run);
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(run);
+    }
+
+    /**
+     * Returns the progress of the latest replanning run.
+     *
+     * @return a ResponseEntity containing the run, or a 404 status code if there was no run yet
+     */
+    @GetMapping("/cohort")
+    public ResponseEntity<CohortPlanningResponse> getCohortPlanning() {
+        return cohortPlanningService.getLatestRun()
+                .map(run -> ResponseEntity.ok(CohortPlanningResponse.of(run)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Stops the running replanning run after its current page. It can be continued with a new start.
+     *
+     * @return a ResponseEntity with status 200, or a 404 status code if no run is running
+     */
+    @DeleteMapping("/cohort")
+    public ResponseEntity<String> stopCohortPlanning() {
+        if (!cohortPlanningService.stop()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok("Replanning stops after the current page");
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.API.Scheduler;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact time model of the planner: the start of a session is a single int slot,
+ * epoch day * minutes per day + minute of the day. Constraints only work with the slot and its
+ * primitive parts; LocalDate and LocalTime objects are created when a plan is turned into events.
+ */
+public final class TimeSlots {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private TimeSlots() {
+    }
+
+    public static int of(LocalDate date, LocalTime time) {
+        return Math.toIntExact(date.toEpochDay() * MINUTES_PER_DAY + time.getHour() * 60 + time.getMinute());
+    }
+
+    public static int epochDayOf(int slot) {
+        return slot / MINUTES_PER_DAY;
+    }
+
+    public static int minuteOf(int slot) {
+        return slot % MINUTES_PER_DAY;
+    }
+
+    public static LocalDate dateOf(int slot) {
+        return LocalDate.ofEpochDay(epochDayOf(slot));
+    }
+
+    public static LocalTime timeOf(int slot) {
+        return LocalTime.of(minuteOf(slot) / 60, minuteOf(slot) % 60);
+    }
+
+    /**
+     * Builds the value range of the slot planning variable: every start time on every date.
+     *
+     * @param dates the dates sessions can be planned on
+     * @param times the start times of the sessions on each date
+     * @return all slots, ordered by date and time
+     */
+    public static List<Integer> range(List<LocalDate> dates, List<LocalTime> times) {
+        if (dates == null || times == null) {
+            return new ArrayList<>();
+        }
+        List<Integer> slots = new ArrayList<>(dates.size() * times.size());
+        for (LocalDate date : dates) {
+            for (LocalTime time : times) {
+                slots.add(of(date, time));
+            }
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.API.Scheduler;
+
+import org.optaplanner.core.api.score.director.ScoreDirector;
+import org.optaplanner.core.impl.partitionedsearch.partitioner.SolutionPartitioner;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Splits a planned LearningSchedule with a long horizon into time windows, by default weeks, for the partitioned
+ * search. Each session stays in the window of its current slot, so the number of sessions each task has per
+ * window comes from the initial plan and the hours of every task stay the same when the partitions are merged.
+ * A partition gets copies of the tasks whose slot ranges are clipped to the window, and the fixed events of
+ * the window. Each task copy also knows how many sessions of the task lie in earlier windows and how many the
+ * task has in total, so the even distribution is measured against the whole timeline and not just the window.
+ * Sessions can't overlap across windows, because the windows are whole days.
+ * Sessions without a slot in their task's slot range are left out of the partitions.
+ */
+public class TimeWindowPartitioner implements SolutionPartitioner<LearningSchedule> {
+
+    public static final int DEFAULT_WINDOW_DAYS = 7;
+
+    private int windowDays = DEFAULT_WINDOW_DAYS;
+
+    // set from the solutionPartitionerCustomProperties of the solver config
+    public void setWindowDays(int windowDays) {
+        if (windowDays < 1) {
+            throw new IllegalArgumentException("The windowDays (" + windowDays + ") must be at least 1.");
+        }
+        this.windowDays = windowDays;
+    }
+
+    @Override
+    public List<LearningSchedule> splitWorkingSolution(ScoreDirector<LearningSchedule> scoreDirector,
+                                                       Integer runnablePartThreadLimit) {
+        LearningSchedule schedule = scoreDirector.getWorkingSolution();
+        List<LocalDate> dateRange = schedule.getDateRange();
+        if (dateRange == null || dateRange.isEmpty()) {
+            return List.of();
+        }
+        long firstEpochDay = dateRange.get(0).toEpochDay();
+
+        // sessions per window, windows in date order
+        TreeMap<Integer, List<SessionForOptimizer>> sessionsByWindow = new TreeMap<>();
+        Map<TaskForOptimizer, Integer> sessionCounts = new HashMap<>();
+        for (SessionForOptimizer session : schedule.getSessionList()) {
+            sessionCounts.merge(session.getTask(), 1, Integer::sum);
+            if (session.getSlot() == null || Collections.binarySearch(session.getSlotRange(), session.getSlot()) < 0) {
+                continue;
+            }
+            int window = (int) Math.floorDiv(session.getEpochDay() - firstEpochDay, windowDays);
+            sessionsByWindow.computeIfAbsent(window, w -> new ArrayList<>()).add(session);
+        }
+
+        List<LearningSchedule> partitions = new ArrayList<>(sessionsByWindow.size());
+        // sessions of each task in the windows before the current one
+        Map<TaskForOptimizer, Integer> earlierSessionCounts = new HashMap<>();
+        for (Map.Entry<Integer, List<SessionForOptimizer>> entry : sessionsByWindow.entrySet()) {
+            long windowStartDay = firstEpochDay + (long) entry.getKey() * windowDays;
+            long windowEndDay = windowStartDay + windowDays;
+            int startSlot = Math.toIntExact(windowStartDay * TimeSlots.MINUTES_PER_DAY);
+            int endSlot = Math.toIntExact(windowEndDay * TimeSlots.MINUTES_PER_DAY);
+
+            Map<TaskForOptimizer, TaskForOptimizer> taskCopies = new HashMap<>();
+            List<SessionForOptimizer> sessions = new ArrayList<>(entry.getValue().size());
+            for (SessionForOptimizer session : entry.getValue()) {
+                TaskForOptimizer taskCopy = taskCopies.computeIfAbsent(session.getTask(), task -> {
+                    TaskForOptimizer copy = new TaskForOptimizer(task.getName(), task.getHoursRequired(),
+                            task.getDeadline(), task.getSessionDuration(), 0);
+                    copy.setModuleId(task.getModuleId());
+                    copy.setSlotRange(subRange(task.getSlotRange(), startSlot, endSlot));
+                    copy.setSessionIndexOffset(earlierSessionCounts.getOrDefault(task, 0));
+                    copy.setTotalSessionCount(sessionCounts.get(task));
+                    return copy;
+                });
+                // same ID, so the partitioned search finds the session of the working solution when merging
+                SessionForOptimizer sessionCopy = new SessionForOptimizer(taskCopy);
+                sessionCopy.setId(session.getId());
+                sessionCopy.setSlot(session.getSlot());
+                sessions.add(sessionCopy);
+            }
+            for (SessionForOptimizer session : entry.getValue()) {
+                earlierSessionCounts.merge(session.getTask(), 1, Integer::sum);
+            }
+
+            List<FixedEvent> fixedEvents = schedule.getFixedEventList() == null ? List.of()
+                    : schedule.getFixedEventList().stream()
+                    .filter(event -> event.getDate() != null && event.getDate().toEpochDay() >= windowStartDay
+                            && event.getDate().toEpochDay() < windowEndDay)
+                    .toList();
+            List<LocalDate> windowDates = dateRange.stream()
+                    .filter(date -> date.toEpochDay() >= windowStartDay && date.toEpochDay() < windowEndDay)
+                    .toList();
+
+            // the task list is set last: the setters of the ranges would rebuild the slot ranges from the deadlines
+            LearningSchedule partition = new LearningSchedule();
+            partition.setDateRange(windowDates);
+            partition.setTimeRange(schedule.getTimeRange());
+            partition.setFixedEventList(fixedEvents);
+            partition.setPlanningStart(schedule.getPlanningStart());
+            partition.setUserPrefStudyStart(schedule.getUserPrefStudyStart());
+            partition.setUserPrefStudyEnd(schedule.getUserPrefStudyEnd());
+            partition.setUserBreakLengthMinutes(schedule.getUserBreakLengthMinutes());
+            partition.setTaskList(new ArrayList<>(taskCopies.values()));
+            partition.setSessionList(sessions);
+            partitions.add(partition);
+        }
+        System.out.println("Partitioned " + schedule.getSessionList().size() + " sessions into "
+                + partitions.size() + " windows of " + windowDays + " days");
+        return partitions;
+    }
+
+    // the slots of a sorted slot range from startSlot (inclusive) to endSlot (exclusive)
+    private static List<Integer> subRange(List<Integer> slotRange, int startSlot, int endSlot) {
+        int from = Collections.binarySearch(slotRange, startSlot);
+        int to = Collections.binarySearch(slotRange, endSlot);
+        return slotRange.subList(from >= 0 ? from : -from - 1, to >= 0 ? to : -to - 1);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.API.Scheduler;
+
+import org.optaplanner.core.api.solver.change.ProblemChange;
+import org.optaplanner.core.api.solver.change.ProblemChangeDirector;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Problem change that updates the remaining hours and the deadline of a task in a live schedule,
+ * or adds the task if the module is new. Sessions are added or removed until the task has its
+ * recommended session count again; the new sessions are left uninitialized for the construction heuristic.
+ */
+public class UpdateTaskChange implements ProblemChange<LearningSchedule> {
+
+    private final TaskForOptimizer task;
+
+    public UpdateTaskChange(TaskForOptimizer task) {
+        this.task = task;
+    }
+
+    @Override
+    public void doChange(LearningSchedule schedule, ProblemChangeDirector problemChangeDirector) {
+        TaskForOptimizer workingTask = schedule.getTaskList().stream()
+                .filter(t -> Objects.equals(t.getModuleId(), task.getModuleId()))
+                .findFirst()
+                .orElse(null);
+
+        if (workingTask == null) {
+            schedule.setTaskList(LearningSchedule.changedCopy(schedule.getTaskList(),
+                    list -> problemChangeDirector.addProblemFact(task, list::add)));
+            workingTask = task;
+        } else {
+            problemChangeDirector.changeProblemProperty(workingTask, t -> {
+                t.setHoursRequired(task.getHoursRequired());
+                t.setDeadline(task.getDeadline());
+            });
+        }
+
+        extendDateRange(schedule, problemChangeDirector, workingTask.getDeadline());
+        // the sessions of the task can only be moved up to the changed deadline
+        schedule.updateSlotRanges();
+
+        List<SessionForOptimizer> sessionList = new ArrayList<>(schedule.getSessionList());
+        schedule.setSessionList(sessionList);
+        List<SessionForOptimizer> taskSessions = new ArrayList<>();
+        long nextId = 0;
+        for (SessionForOptimizer session : sessionList) {
+            nextId = Math.max(nextId, session.getId() + 1);
+            if (session.getTask() == workingTask) {
+                taskSessions.add(session);
+            }
+        }
+
+        int sessionCount = workingTask.getRecommendedSessionCount();
+        // remove the sessions that aren't needed anymore, unplanned and latest ones first
+        taskSessions.sort(Comparator.comparing(SessionForOptimizer::getSlot,
+                Comparator.nullsLast(Comparator.<Integer>naturalOrder())).reversed());
+        while (taskSessions.size() > sessionCount) {
+            SessionForOptimizer session = taskSessions.remove(0);
+            problemChangeDirector.removeEntity(session, sessionList::remove);
+        }
+        // the remaining sessions read the changed deadline through their task, so they have to be re-evaluated
+        for (SessionForOptimizer session : taskSessions) {
+            problemChangeDirector.changeProblemProperty(session, s -> { });
+        }
+        for (int i = taskSessions.size(); i < sessionCount; i++) {
+            SessionForOptimizer session = new SessionForOptimizer(workingTask);
+            session.setId(nextId++);
+            problemChangeDirector.addEntity(session, sessionList::add);
+        }
+    }
+
+    // add the dates up to the new deadline if it's after the last date of the date range
+    private void extendDateRange(LearningSchedule schedule, ProblemChangeDirector problemChangeDirector, LocalDate deadline) {
+        List<LocalDate> dateRange = schedule.getDateRange();
+        if (deadline == null || dateRange.isEmpty() || !deadline.isAfter(dateRange.get(dateRange.size() - 1))) {
+            return;
+        }
+        List<LocalDate> extendedDateRange = new ArrayList<>(dateRange);
+        LocalDate date = dateRange.get(dateRange.size() - 1).plusDays(1);
+        while (!date.isAfter(deadline)) {
+            problemChangeDirector.addProblemFact(date, extendedDateRange::add);
+            date = date.plusDays(1);
+        }
+        // set once all dates are added, so the slot range is rebuilt with them
+        schedule.setDateRange(extendedDateRange);
+    }
+}
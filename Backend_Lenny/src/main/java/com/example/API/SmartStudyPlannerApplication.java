@@ -2,8 +2,10 @@ package com.example.API;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SmartStudyPlannerApplication {
     /**
      * Main method to start the application.
@@ -0,0 +1,48 @@
+package com.example.API.config;
+
+import com.example.API.Event.Event;
+import com.example.API.Module.Module;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the id sequences of events and modules past the ids that are already in their tables. The tables
+ * were filled with auto-increment ids before, and a sequence that Hibernate creates starts at 1.
+ * Runs once the schema is updated and before the application serves requests.
+ */
+@Component
+public class IdSequenceInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for the IdSequenceInitializer.
+     * @param jdbcTemplate JdbcTemplate used to read the highest ids and to restart the sequences.
+     * @param entityManagerFactory Only injected so the sequences are created before they are checked.
+     */
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        initialize("event", "event_seq", Event.ID_ALLOCATION_SIZE);
+        initialize("module", "module_seq", Module.ID_ALLOCATION_SIZE);
+    }
+
+    private void initialize(String table, String sequence, int allocationSize) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        // Hibernate's next block of ids ends at the value after this one, so it only has ids above it;
+        // reading the value skips at most one block of ids
+        Long next = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + sequence, Long.class);
+        if (next >= maxId) {
+            return;
+        }
+        // the first block then starts above the highest id
+        long restartWith = maxId + allocationSize + 1;
+        System.out.println("Restarting " + sequence + " with " + restartWith + " after the existing ids of " + table);
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + restartWith);
+    }
+}
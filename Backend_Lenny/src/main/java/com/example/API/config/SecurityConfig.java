@@ -31,7 +31,10 @@ public class SecurityConfig {
                                 "/api/events/**",
                                 "/swagger-ui.html",
                                 "/api/planning/**",
-                                "/api/module/**"
+                                "/api/module/**",
+                                // only the health of the actuator endpoints is public, info and metrics need authentication
+                                "/actuator/health",
+                                "/actuator/health/**"
                         ).permitAll()
                         .anyRequest().authenticated()
                 )
@@ -1,8 +1,12 @@
 package com.example.API.users;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 
@@ -21,4 +25,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // (used for updating user settings)
     Optional<User> findByUserId(Long id);
 
+    // method to page through the user IDs in ascending order, starting after an ID
+    // (used for the nightly replanning of all users)
+    @Query("SELECT u.userId FROM User u WHERE u.userId > :afterUserId ORDER BY u.userId")
+    List<Long> findUserIdsAfter(@Param("afterUserId") Long afterUserId, Pageable pageable);
+
 }
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.example.API.Scheduler;
+
+import com.example.API.Event.Event;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests how LearningSessionWriter matches planned learning sessions to the saved ones.
+ */
+class LearningSessionWriterTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(3);
+
+    private final LearningSessionWriter.Writes writes = new LearningSessionWriter.Writes();
+    private final List<Event> inserts = new ArrayList<>();
+    private final List<Long> deletes = new ArrayList<>();
+
+    @Test
+    void sessionAtTheSameTimeStaysUnchanged() {
+        Event saved = saved(1L, "Math", 9);
+
+        diff(List.of(planned("Math", 9)), List.of(saved));
+
+        assertEquals(1, writes.getUnchanged());
+        assertEquals(0, writes.getWritten());
+        assertTrue(inserts.isEmpty());
+        assertTrue(deletes.isEmpty());
+        assertEquals(LocalTime.of(9, 0), saved.getStartTime());
+    }
+
+    @Test
+    void movedSessionUpdatesTheSavedRow() {
+        Event saved = saved(1L, "Math", 9);
+
+        diff(List.of(planned("Math", 14)), List.of(saved));
+
+        assertEquals(1, writes.getUpdated());
+        assertEquals(0, writes.getUnchanged());
+        assertTrue(inserts.isEmpty());
+        assertTrue(deletes.isEmpty());
+        assertEquals(LocalTime.of(14, 0), saved.getStartTime());
+        assertEquals(LocalTime.of(15, 30), saved.getEndTime());
+    }
+
+    @Test
+    void movedSessionReusesARowOfTheSameModuleFirst() {
+        Event math = saved(1L, "Math", 9);
+        Event physics = saved(2L, "Physics", 11);
+
+        diff(List.of(planned("Physics", 14), planned("Math", 16)), List.of(math, physics));
+
+        assertEquals(2, writes.getUpdated());
+        assertEquals("Math", math.getTitle());
+        assertEquals(LocalTime.of(16, 0), math.getStartTime());
+        assertEquals("Physics", physics.getTitle());
+        assertEquals(LocalTime.of(14, 0), physics.getStartTime());
+    }
+
+    @Test
+    void movedSessionReusesARowOfAnotherModule() {
+        Event saved = saved(1L, "Math", 9);
+
+        diff(List.of(planned("Physics", 14)), List.of(saved));
+
+        assertEquals(1, writes.getUpdated());
+        assertTrue(inserts.isEmpty());
+        assertTrue(deletes.isEmpty());
+        assertEquals("Physics", saved.getTitle());
+        assertEquals(LocalTime.of(14, 0), saved.getStartTime());
+    }
+
+    @Test
+    void surplusPlannedSessionIsInserted() {
+        Event extra = planned("Physics", 14);
+
+        diff(List.of(planned("Math", 9), extra), List.of(saved(1L, "Math", 9)));
+
+        assertEquals(1, writes.getUnchanged());
+        assertEquals(0, writes.getUpdated());
+        assertEquals(1, inserts.size());
+        assertSame(extra, inserts.get(0));
+        assertTrue(deletes.isEmpty());
+    }
+
+    @Test
+    void surplusSavedSessionIsDeleted() {
+        diff(List.of(planned("Math", 9)), List.of(saved(1L, "Math", 9), saved(2L, "Physics", 14)));
+
+        assertEquals(1, writes.getUnchanged());
+        assertEquals(0, writes.getUpdated());
+        assertTrue(inserts.isEmpty());
+        assertEquals(List.of(2L), deletes);
+    }
+
+    @Test
+    void completedSessionIsNeverUnchanged() {
+        Event saved = saved(1L, "Math", 9);
+        saved.setSessionUsed(1);
+
+        diff(List.of(planned("Math", 9)), List.of(saved));
+
+        assertEquals(0, writes.getUnchanged());
+        assertEquals(1, writes.getUpdated());
+        assertNull(saved.getSessionUsed());
+    }
+
+    @Test
+    void editedSessionIsNeverUnchanged() {
+        Event longer = saved(1L, "Math", 9);
+        longer.setEndDate(DAY.plusDays(1));
+        Event fullDay = saved(2L, "Physics", 11);
+        fullDay.setIsFullDay(true);
+
+        diff(List.of(planned("Math", 9), planned("Physics", 11)), List.of(longer, fullDay));
+
+        assertEquals(0, writes.getUnchanged());
+        assertEquals(2, writes.getUpdated());
+        assertEquals(DAY, longer.getEndDate());
+        assertFalse(fullDay.getIsFullDay());
+    }
+
+    private void diff(List<Event> planned, List<Event> saved) {
+        LearningSessionWriter.diff(planned, saved, writes, inserts, deletes);
+    }
+
+    // a learning session of 90 minutes as the planner creates it
+    private static Event planned(String module, int hour) {
+        Event event = new Event();
+        event.setTitle(module);
+        event.setStartDate(DAY);
+        event.setEndDate(DAY);
+        event.setStartTime(LocalTime.of(hour, 0));
+        event.setEndTime(LocalTime.of(hour, 0).plusMinutes(90));
+        event.setType("learning session");
+        event.setIsFullDay(false);
+        return event;
+    }
+
+    private static Event saved(Long id, String module, int hour) {
+        Event event = planned(module, hour);
+        ReflectionTestUtils.setField(event, "id", id);
+        return event;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.API.Scheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests how PlanningFlights joins, supersedes, fails and cancels the plannings of a user.
+ */
+class PlanningFlightsTest {
+
+    private static final Long USER_ID = 1L;
+    private static final LocalDateTime LOADED_AT = LocalDateTime.of(2026, 1, 5, 9, 0);
+
+    private final PlanningFlights planningFlights = new PlanningFlights(new SimpleMeterRegistry());
+    // the plans whose save ran, in order
+    private final List<LearningSchedule> saved = new ArrayList<>();
+
+    @Test
+    void requestWithTheSameInputsJoinsTheRunningFlight() {
+        PlanningFlights.Flight running = planningFlights.board(USER_ID, "a", LOADED_AT);
+        assertTrue(running.takeOff());
+
+        PlanningFlights.Flight joined = planningFlights.board(USER_ID, "a", LOADED_AT.plusSeconds(1));
+        assertSame(running, joined);
+        assertFalse(joined.takeOff());
+
+        LearningSchedule plan = new LearningSchedule();
+        planningFlights.land(running, plan, save(plan));
+        assertSame(plan, planningFlights.await(joined));
+        assertEquals(List.of(plan), saved);
+    }
+
+    @Test
+    void supersededFlightGetsThePlanOfItsSuccessor() {
+        PlanningFlights.Flight superseded = planningFlights.board(USER_ID, "a", LOADED_AT);
+        superseded.takeOff();
+        AtomicBoolean stopped = new AtomicBoolean();
+        superseded.onSolverStarted(() -> stopped.set(true));
+
+        PlanningFlights.Flight successor = planningFlights.board(USER_ID, "b", LOADED_AT.plusSeconds(1));
+        assertNotSame(superseded, successor);
+        assertTrue(successor.takeOff());
+        assertTrue(superseded.isStopped());
+        assertTrue(stopped.get());
+
+        LearningSchedule supersededPlan = new LearningSchedule();
+        planningFlights.land(superseded, supersededPlan, save(supersededPlan));
+        assertFalse(superseded.getResult().isDone());
+
+        LearningSchedule successorPlan = new LearningSchedule();
+        planningFlights.land(successor, successorPlan, save(successorPlan));
+        assertSame(successorPlan, planningFlights.await(superseded));
+        assertSame(successorPlan, planningFlights.await(successor));
+        assertEquals(List.of(successorPlan), saved);
+    }
+
+    @Test
+    void supersededFlightIsSavedWhenItsSuccessorFails() {
+        PlanningFlights.Flight superseded = planningFlights.board(USER_ID, "a", LOADED_AT);
+        superseded.takeOff();
+        PlanningFlights.Flight successor = planningFlights.board(USER_ID, "b", LOADED_AT.plusSeconds(1));
+        successor.takeOff();
+
+        LearningSchedule supersededPlan = new LearningSchedule();
+        planningFlights.land(superseded, supersededPlan, save(supersededPlan));
+        assertTrue(saved.isEmpty());
+
+        // e.g. the PlanningExecutor refused the solve of the successor
+        planningFlights.fail(successor, new PlanningRejectedException("The planning queue is full", null));
+        assertSame(supersededPlan, planningFlights.await(superseded));
+        assertEquals(List.of(supersededPlan), saved);
+        assertThrows(PlanningRejectedException.class, () -> planningFlights.await(successor));
+    }
+
+    @Test
+    void supersededFlightThatLandsAfterItsSuccessorFailedIsSaved() {
+        PlanningFlights.Flight superseded = planningFlights.board(USER_ID, "a", LOADED_AT);
+        superseded.takeOff();
+        PlanningFlights.Flight successor = planningFlights.board(USER_ID, "b", LOADED_AT.plusSeconds(1));
+        successor.takeOff();
+
+        planningFlights.cancel(successor, new IllegalStateException("Planning job 2 was cancelled"));
+        assertFalse(superseded.getResult().isDone());
+        assertFalse(superseded.isStopped());
+
+        LearningSchedule supersededPlan = new LearningSchedule();
+        planningFlights.land(superseded, supersededPlan, save(supersededPlan));
+        assertSame(supersededPlan, planningFlights.await(superseded));
+        assertEquals(List.of(supersededPlan), saved);
+    }
+
+    @Test
+    void flightCancelledWhileSupersededIsNeverSaved() {
+        PlanningFlights.Flight superseded = planningFlights.board(USER_ID, "a", LOADED_AT);
+        superseded.takeOff();
+        PlanningFlights.Flight successor = planningFlights.board(USER_ID, "b", LOADED_AT.plusSeconds(1));
+        successor.takeOff();
+
+        planningFlights.cancel(superseded, new IllegalStateException("Planning job 1 was cancelled"));
+        // the stopped solver still returns its plan
+        LearningSchedule supersededPlan = new LearningSchedule();
+        planningFlights.land(superseded, supersededPlan, save(supersededPlan));
+        planningFlights.fail(successor, new IllegalStateException("Solving failed"));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> planningFlights.await(superseded));
+        assertEquals("Planning job 1 was cancelled", error.getMessage());
+        assertTrue(saved.isEmpty());
+    }
+
+    @Test
+    void requestAfterTheFlightLandedStartsANewFlight() {
+        PlanningFlights.Flight first = planningFlights.board(USER_ID, "a", LOADED_AT);
+        first.takeOff();
+        planningFlights.land(first, null);
+
+        PlanningFlights.Flight second = planningFlights.board(USER_ID, "a", LOADED_AT.plusSeconds(1));
+        assertNotSame(first, second);
+        assertTrue(second.takeOff());
+    }
+
+    private Runnable save(LearningSchedule plan) {
+        return () -> saved.add(plan);
+    }
+}
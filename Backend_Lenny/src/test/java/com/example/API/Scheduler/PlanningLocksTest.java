@@ -0,0 +1,83 @@
+package com.example.API.Scheduler;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the planning_lock rows of PlanningLocks on an embedded database. Every call runs in its own
+ * transaction, like the calls of two nodes.
+ */
+@DataJpaTest
+@Import(PlanningLocks.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "planner.planning-lock.lease=200ms",
+        "planner.planning-lock.max-wait=0s"
+})
+class PlanningLocksTest {
+
+    private static final LocalDateTime LOADED_AT = LocalDateTime.of(2026, 1, 5, 9, 0);
+
+    @Autowired
+    private PlanningLocks planningLocks;
+
+    @Autowired
+    private PlanningLockRepository repository;
+
+    @Test
+    void heldLockIsNotTakenByAnotherRequest() {
+        try (PlanningLocks.Lock lock = planningLocks.lock(1L)) {
+            assertTrue(planningLocks.tryLock(1L).isEmpty());
+            assertThrows(IllegalStateException.class, () -> planningLocks.lock(1L));
+        }
+        Optional<PlanningLocks.Lock> next = planningLocks.tryLock(1L);
+        assertTrue(next.isPresent());
+        next.get().close();
+    }
+
+    @Test
+    void releasedLockRemembersTheSavedPlan() {
+        try (PlanningLocks.Lock lock = planningLocks.lock(2L)) {
+            assertFalse(lock.hasNewerPlan(LOADED_AT));
+            lock.planSaved(LOADED_AT);
+        }
+        try (PlanningLocks.Lock lock = planningLocks.lock(2L)) {
+            assertTrue(lock.hasNewerPlan(LOADED_AT.minusSeconds(1)));
+            assertFalse(lock.hasNewerPlan(LOADED_AT));
+            assertFalse(lock.hasNewerPlan(LOADED_AT.plusSeconds(1)));
+        }
+    }
+
+    @Test
+    void lockThatExpiresBeforeReleaseDoesNotOverwriteTheNextHolder() throws InterruptedException {
+        PlanningLocks.Lock expired = planningLocks.lock(3L);
+        Thread.sleep(300);
+
+        // the lease has expired, another request takes the lock and saves a newer plan
+        PlanningLocks.Lock next = planningLocks.tryLock(3L).orElseThrow();
+        next.planSaved(LOADED_AT.plusMinutes(1));
+        expired.planSaved(LOADED_AT);
+        expired.close();
+        assertTrue(planningLocks.tryLock(3L).isEmpty());
+
+        next.close();
+        PlanningLock row = repository.findById(3L).orElseThrow();
+        assertEquals(LOADED_AT.plusMinutes(1), row.getPlanLoadedAt());
+        assertNull(row.getOwner());
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.API.Scheduler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.optaplanner.core.api.score.buildin.hardsoft.HardSoftScore;
+import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.api.solver.change.ProblemChange;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.solver.DefaultSolverFactory;
+import org.optaplanner.core.impl.solver.change.DefaultProblemChangeDirector;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the problem changes of the real-time planning on a small schedule. Each change is applied to the
+ * working solution of a score director like the solver does, and the incremental score is checked from scratch.
+ */
+class ProblemChangesTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.now().plusDays(1);
+    private static final LocalDate BLOCKED_DAY = FIRST_DAY.plusDays(1);
+
+    private InnerScoreDirector<LearningSchedule, HardSoftScore> scoreDirector;
+    private LearningSchedule schedule;
+    // a clone of the working solution before the change, like the best solution handed out by the solver
+    private LearningSchedule bestSolution;
+    private TaskForOptimizer math;
+    private TaskForOptimizer physics;
+
+    @BeforeEach
+    void setUp() {
+        // Math: 2 sessions until the third day, Physics: 2 sessions until the fifth day
+        math = task(1L, "Math", 3, FIRST_DAY.plusDays(2));
+        physics = task(2L, "Physics", 3, FIRST_DAY.plusDays(4));
+        List<TaskForOptimizer> tasks = new ArrayList<>(List.of(math, physics));
+
+        schedule = new LearningSchedule(tasks, SmartPlannerMain.generateSessions(tasks));
+        schedule.setDateRange(SmartPlannerMain.generateDateRange(tasks));
+        schedule.setPlanningStart(new PlanningStart(FIRST_DAY));
+        schedule.setTimeRange(SmartPlannerMain.generateTimeRange());
+        schedule.setFixedEventList(new ArrayList<>(List.of(
+                new FixedEvent(10L, FIRST_DAY, LocalTime.of(8, 0), LocalTime.of(12, 0)))));
+        schedule.setUserPrefStudyStart(LocalTime.of(8, 0));
+        schedule.setUserPrefStudyEnd(LocalTime.of(22, 0));
+        schedule.setUserBreakLengthMinutes(15);
+        // one Math session on the day that gets blocked, the other sessions unplanned
+        sessionsOf(math).get(0).setSlot(TimeSlots.of(BLOCKED_DAY, LocalTime.of(14, 0)));
+
+        DefaultSolverFactory<LearningSchedule> solverFactory = (DefaultSolverFactory<LearningSchedule>)
+                SolverFactory.<LearningSchedule>create(SmartPlannerMain.buildSolverConfig(SmartPlannerMain.REALTIME_PROFILE));
+        scoreDirector = solverFactory.<HardSoftScore>getScoreDirectorFactory().buildScoreDirector(true, false);
+        scoreDirector.setWorkingSolution(schedule);
+        scoreDirector.calculateScore();
+        bestSolution = scoreDirector.cloneSolution(schedule);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scoreDirector.close();
+    }
+
+    @Test
+    void addedFixedEventBlocksItsTime() {
+        HardSoftScore before = schedule.getScore();
+        FixedEvent fullDay = new FixedEvent(11L, BLOCKED_DAY, LocalTime.of(0, 0), LocalTime.of(23, 59));
+
+        HardSoftScore score = apply(new AddFixedEventChange(fullDay));
+
+        assertEquals(2, schedule.getFixedEventList().size());
+        assertTrue(schedule.getBusyTimeIndex().overlaps(BLOCKED_DAY, LocalTime.of(14, 0), 90));
+        assertTrue(slotsOn(math, BLOCKED_DAY).isEmpty());
+        assertTrue(slotsOn(physics, BLOCKED_DAY).isEmpty());
+        // the Math session on the blocked day now overlaps the fixed event
+        assertTrue(score.hardScore() < before.hardScore());
+        assertEquals(1, bestSolution.getFixedEventList().size());
+    }
+
+    @Test
+    void removedFixedEventFreesItsTime() {
+        assertFalse(slotsOn(math, FIRST_DAY).contains(TimeSlots.of(FIRST_DAY, LocalTime.of(9, 0))));
+
+        apply(new RemoveFixedEventChange(10L));
+
+        assertTrue(schedule.getFixedEventList().isEmpty());
+        assertFalse(schedule.getBusyTimeIndex().overlaps(FIRST_DAY, LocalTime.of(9, 0), 90));
+        assertTrue(slotsOn(math, FIRST_DAY).contains(TimeSlots.of(FIRST_DAY, LocalTime.of(9, 0))));
+        assertEquals(1, bestSolution.getFixedEventList().size());
+    }
+
+    @Test
+    void removingAnUnknownFixedEventChangesNothing() {
+        List<FixedEvent> fixedEventList = schedule.getFixedEventList();
+
+        apply(new RemoveFixedEventChange(99L));
+
+        assertSame(fixedEventList, schedule.getFixedEventList());
+    }
+
+    @Test
+    void updatedTaskGetsSessionsUntilItsNewDeadline() {
+        LocalDate deadline = FIRST_DAY.plusDays(6);
+
+        apply(new UpdateTaskChange(task(1L, "Math", 6, deadline)));
+
+        assertEquals(6, math.getHoursRequired());
+        assertEquals(deadline, math.getDeadline());
+        assertEquals(deadline, schedule.getDateRange().get(schedule.getDateRange().size() - 1));
+        assertFalse(slotsOn(math, deadline).isEmpty());
+        List<SessionForOptimizer> sessions = sessionsOf(math);
+        assertEquals(4, sessions.size());
+        // the planned session is kept, the new ones are left to the construction heuristic
+        assertEquals(3, sessions.stream().filter(s -> s.getSlot() == null).count());
+        assertEquals(6, schedule.getSessionList().stream().map(SessionForOptimizer::getId).distinct().count());
+        assertEquals(4, bestSolution.getSessionList().size());
+    }
+
+    @Test
+    void updatedTaskWithFewerHoursDropsUnplannedSessionsFirst() {
+        SessionForOptimizer planned = sessionsOf(math).get(0);
+
+        apply(new UpdateTaskChange(task(1L, "Math", 1.5, math.getDeadline())));
+
+        assertEquals(List.of(planned), sessionsOf(math));
+        assertEquals(2, sessionsOf(physics).size());
+    }
+
+    @Test
+    void updateOfANewModuleAddsItsTask() {
+        TaskForOptimizer chemistry = task(3L, "Chemistry", 3, FIRST_DAY.plusDays(3));
+
+        apply(new UpdateTaskChange(chemistry));
+
+        assertEquals(3, schedule.getTaskList().size());
+        assertSame(chemistry, schedule.getTaskList().get(2));
+        assertEquals(2, sessionsOf(chemistry).size());
+        assertTrue(sessionsOf(chemistry).stream().allMatch(s -> s.getSlot() == null));
+        assertFalse(chemistry.getSlotRange().isEmpty());
+        assertEquals(2, bestSolution.getTaskList().size());
+    }
+
+    @Test
+    void removedTaskLosesAllItsSessions() {
+        apply(new RemoveTaskChange(1L));
+
+        assertEquals(List.of(physics), schedule.getTaskList());
+        assertTrue(sessionsOf(math).isEmpty());
+        assertEquals(2, schedule.getSessionList().size());
+        assertEquals(2, bestSolution.getTaskList().size());
+        assertEquals(4, bestSolution.getSessionList().size());
+    }
+
+    // applies the change like the solver between two steps and checks the incremental score from scratch
+    private HardSoftScore apply(ProblemChange<LearningSchedule> change) {
+        HardSoftScore score = (HardSoftScore) new DefaultProblemChangeDirector<>(scoreDirector).doProblemChange(change);
+        scoreDirector.assertWorkingScoreFromScratch(score, change);
+        return score;
+    }
+
+    private List<SessionForOptimizer> sessionsOf(TaskForOptimizer task) {
+        return schedule.getSessionList().stream().filter(s -> s.getTask() == task).toList();
+    }
+
+    private static Set<Integer> slotsOn(TaskForOptimizer task, LocalDate date) {
+        Set<Integer> slots = new HashSet<>();
+        for (int slot : task.getSlotRange()) {
+            if (TimeSlots.epochDayOf(slot) == date.toEpochDay()) {
+                slots.add(slot);
+            }
+        }
+        return slots;
+    }
+
+    private static TaskForOptimizer task(Long moduleId, String name, double hoursRequired, LocalDate deadline) {
+        TaskForOptimizer task = new TaskForOptimizer(name, hoursRequired, deadline, 1.5, 0.25);
+        task.setModuleId(moduleId);
+        return task;
+    }
+}